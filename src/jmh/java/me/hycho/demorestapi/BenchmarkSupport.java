@@ -0,0 +1,112 @@
+package me.hycho.demorestapi;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.AnnotationLinkRelationProvider;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.hateoas.server.core.DelegatingLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.Errors;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import me.hycho.demorestapi.common.ErrorsSerializer;
+import me.hycho.demorestapi.events.Event;
+import me.hycho.demorestapi.events.EventDto;
+import me.hycho.demorestapi.events.EventStatus;
+import me.hycho.demorestapi.events.EventSummary;
+
+/**
+ * 벤치마크에서 공통으로 사용하는 객체
+ * 애플리케이션 컨텍스트 없이 실제 응답과 같은 방식으로 직렬화/링크 생성을 하도록 구성한다.
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * 애플리케이션의 HAL 메시지 컨버터와 같은 설정의 ObjectMapper
+     */
+    public static ObjectMapper halObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.registerModule(new SimpleModule().addSerializer(Errors.class, new ErrorsSerializer()));
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DelegatingLinkRelationProvider(new AnnotationLinkRelationProvider(), new DefaultLinkRelationProvider()),
+                CurieProvider.NONE,
+                MessageResolver.DEFAULTS_ONLY));
+        return objectMapper;
+    }
+
+    /**
+     * linkTo() 등 현재 요청 정보가 필요한 코드를 위해 현재 스레드에 요청을 바인딩한다.
+     */
+    public static MockHttpServletRequest bindRequest(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        return request;
+    }
+
+    public static void unbindRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    public static Event event(int id) {
+        return Event.builder()
+                .id(id)
+                .name("event " + id)
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2020, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2020, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("애플스토어 가로수길점")
+                .free(false)
+                .offline(true)
+                .eventStatus(EventStatus.DRAFT)
+                .version(0)
+                .build();
+    }
+
+    /**
+     * 목록 조회(EventSummaryRepositoryImpl)에서 만들어지는 projection
+     */
+    public static EventSummary eventSummary(int id) {
+        Event event = event(id);
+        return new EventSummary(event.getId(), event.getName(), event.getDescription(),
+                event.getBeginEnrollmentDateTime(), event.getCloseEnrollmentDateTime(),
+                event.getBeginEventDateTime(), event.getEndEventDateTime(), event.getLocation(),
+                event.getBasePrice(), event.getMaxPrice(), event.getLimitOfEnrollment(),
+                event.isOffline(), event.isFree(), event.getEventStatus(), null, event.getVersion());
+    }
+
+    public static EventDto eventDto() {
+        return EventDto.builder()
+                .name("spring")
+                .description("rest api with spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 11, 23, 14, 40))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 11, 24, 14, 40))
+                .beginEventDateTime(LocalDateTime.of(2020, 11, 25, 14, 40))
+                .endEventDateTime(LocalDateTime.of(2020, 11, 26, 14, 40))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("애플스토어 가로수길점")
+                .build();
+    }
+
+}
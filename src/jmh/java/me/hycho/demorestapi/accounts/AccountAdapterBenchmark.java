@@ -0,0 +1,45 @@
+package me.hycho.demorestapi.accounts;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 인증(loadUserByUsername)마다 실행되는 AccountAdapter 생성 비용
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccountAdapterBenchmark {
+
+    private Account account;
+
+    @Setup
+    public void setUp() {
+        this.account = Account.builder()
+                .id(1)
+                .email("user@redsoft.co.kr")
+                .password("{bcrypt}$2a$10$ZuXBLf0xgJcbpUwPRx4lOeFlr8zgaeJtC/fTvq9Nui8o8BkqwbO7S")
+                .roles(Set.of(AccountRole.ADMIN, AccountRole.USER))
+                .build();
+    }
+
+    @Benchmark
+    public AccountAdapter accountAdapter() {
+        return new AccountAdapter(this.account);
+    }
+
+}
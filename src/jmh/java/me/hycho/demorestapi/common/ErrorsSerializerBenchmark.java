@@ -0,0 +1,68 @@
+package me.hycho.demorestapi.common;
+
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import me.hycho.demorestapi.BenchmarkSupport;
+import me.hycho.demorestapi.events.EventDto;
+
+/**
+ * 400 응답 본문(ErrorsResource) 생성 및 직렬화 비용
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ErrorsSerializerBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private Errors errors;
+
+    private ErrorsResource errorsResource;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.bindRequest("/api/events");
+        this.objectMapper = BenchmarkSupport.halObjectMapper();
+
+        EventDto eventDto = BenchmarkSupport.eventDto();
+        this.errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        this.errors.rejectValue("endEventDateTime", "wrongValue", "endEventDateTime is wrong.");
+        this.errors.reject("wrongPrices", "Value for prices are wrong");
+        this.errorsResource = new ErrorsResource(this.errors);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkSupport.unbindRequest();
+    }
+
+    @Benchmark
+    public byte[] serializeErrors() throws Exception {
+        return this.objectMapper.writeValueAsBytes(this.errorsResource);
+    }
+
+    @Benchmark
+    public byte[] assembleAndSerializeErrors() throws Exception {
+        return this.objectMapper.writeValueAsBytes(new ErrorsResource(this.errors));
+    }
+
+}
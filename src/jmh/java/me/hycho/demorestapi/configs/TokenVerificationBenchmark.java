@@ -0,0 +1,113 @@
+package me.hycho.demorestapi.configs;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.DefaultAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.DefaultTokenServices;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.security.oauth2.provider.token.store.InMemoryTokenStore;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+
+import me.hycho.demorestapi.accounts.Account;
+import me.hycho.demorestapi.accounts.AccountAdapter;
+import me.hycho.demorestapi.accounts.AccountRole;
+import me.hycho.demorestapi.accounts.AccountUserAuthenticationConverter;
+
+/**
+ * 리소스 서버의 요청당 토큰 검증 비용 (DefaultTokenServices.loadAuthentication)
+ * memory: InMemoryTokenStore 조회, jwt: 서명 검증 + claim 파싱
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TokenVerificationBenchmark {
+
+    private DefaultTokenServices inMemoryTokenServices;
+
+    private DefaultTokenServices jwtTokenServices;
+
+    private String inMemoryToken;
+
+    private String jwtToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        OAuth2Authentication authentication = authentication();
+
+        InMemoryTokenStore inMemoryTokenStore = new InMemoryTokenStore();
+        this.inMemoryTokenServices = tokenServices(inMemoryTokenStore);
+        OAuth2AccessToken token = accessToken();
+        inMemoryTokenStore.storeAccessToken(token, authentication);
+        this.inMemoryToken = token.getValue();
+
+        DefaultAccessTokenConverter accessTokenConverter = new DefaultAccessTokenConverter();
+        accessTokenConverter.setUserTokenConverter(new AccountUserAuthenticationConverter());
+        JwtAccessTokenConverter jwtAccessTokenConverter = new JwtAccessTokenConverter();
+        jwtAccessTokenConverter.setSigningKey("benchmark-signing-key");
+        jwtAccessTokenConverter.setAccessTokenConverter(accessTokenConverter);
+        jwtAccessTokenConverter.afterPropertiesSet();
+        this.jwtTokenServices = tokenServices(new JwtTokenStore(jwtAccessTokenConverter));
+        this.jwtToken = jwtAccessTokenConverter.enhance(accessToken(), authentication).getValue();
+    }
+
+    @Benchmark
+    public OAuth2Authentication inMemory() {
+        return this.inMemoryTokenServices.loadAuthentication(this.inMemoryToken);
+    }
+
+    @Benchmark
+    public OAuth2Authentication jwt() {
+        return this.jwtTokenServices.loadAuthentication(this.jwtToken);
+    }
+
+    private DefaultTokenServices tokenServices(TokenStore tokenStore) {
+        DefaultTokenServices tokenServices = new DefaultTokenServices();
+        tokenServices.setTokenStore(tokenStore);
+        return tokenServices;
+    }
+
+    private OAuth2AccessToken accessToken() {
+        DefaultOAuth2AccessToken token = new DefaultOAuth2AccessToken(UUID.randomUUID().toString());
+        token.setExpiration(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)));
+        token.setScope(Set.of("read", "write"));
+        return token;
+    }
+
+    private OAuth2Authentication authentication() {
+        Account account = Account.builder()
+                .id(1)
+                .email("user@redsoft.co.kr")
+                .password("{bcrypt}$2a$10$ZuXBLf0xgJcbpUwPRx4lOeFlr8zgaeJtC/fTvq9Nui8o8BkqwbO7S")
+                .roles(Set.of(AccountRole.ADMIN, AccountRole.USER))
+                .build();
+        AccountAdapter principal = new AccountAdapter(account);
+        OAuth2Request request = new OAuth2Request(Map.of("grant_type", "password"), "myApp", null, true,
+                Set.of("read", "write"), Set.of("event"), null, null, null);
+        return new OAuth2Authentication(request,
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+}
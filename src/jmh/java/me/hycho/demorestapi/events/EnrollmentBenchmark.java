@@ -0,0 +1,114 @@
+package me.hycho.demorestapi.events;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 같은 이벤트에 동시에 참가 신청할 때 자리 확보 비용: 메모리 CAS(EventSeats) vs DB 행 잠금(SELECT ... FOR UPDATE)
+ * DB는 같은 프로세스 안의 H2라서 네트워크 왕복이 없으므로 실제 DB보다 유리한 조건이다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class EnrollmentBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:enrollment;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+
+    private final AtomicInteger accountIds = new AtomicInteger();
+
+    private EventSeats eventSeats;
+
+    private Connection setupConnection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        this.eventSeats = new EventSeats(Integer.MAX_VALUE, Collections.emptyList());
+        this.setupConnection = DriverManager.getConnection(URL);
+        try (Statement statement = this.setupConnection.createStatement()) {
+            statement.execute("create table event_seats (event_id int primary key, taken int not null, limit_of_enrollment int not null)");
+            statement.execute("insert into event_seats values (1, 0, " + Integer.MAX_VALUE + ")");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = this.setupConnection.createStatement()) {
+            statement.execute("drop table event_seats");
+        }
+        this.setupConnection.close();
+    }
+
+    @State(Scope.Thread)
+    public static class DatabaseSession {
+
+        private Connection connection;
+
+        private PreparedStatement select;
+
+        private PreparedStatement update;
+
+        @Setup(Level.Trial)
+        public void open() throws SQLException {
+            this.connection = DriverManager.getConnection(URL);
+            this.connection.setAutoCommit(false);
+            this.select = this.connection.prepareStatement("select taken, limit_of_enrollment from event_seats where event_id = 1 for update");
+            this.update = this.connection.prepareStatement("update event_seats set taken = taken + 1 where event_id = 1");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            this.connection.close();
+        }
+    }
+
+    /**
+     * 자리를 확보하고 바로 반납 (신청 수가 계속 늘어나지 않도록)
+     */
+    @Benchmark
+    public EnrollmentResult inMemory() {
+        int accountId = this.accountIds.incrementAndGet();
+        EnrollmentResult result = this.eventSeats.enroll(accountId);
+        this.eventSeats.release(accountId);
+        return result;
+    }
+
+    @Benchmark
+    public boolean selectForUpdate(DatabaseSession session) throws SQLException {
+        boolean accepted;
+        try (ResultSet resultSet = session.select.executeQuery()) {
+            resultSet.next();
+            accepted = resultSet.getInt(1) < resultSet.getInt(2);
+        }
+        if (accepted) {
+            session.update.executeUpdate();
+        }
+        session.connection.commit();
+        return accepted;
+    }
+
+}
@@ -0,0 +1,69 @@
+package me.hycho.demorestapi.events;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import me.hycho.demorestapi.BenchmarkSupport;
+
+/**
+ * 이벤트 생성/수정 요청마다 실행되는 도메인 로직: Event.update(), EventValidator.validate()
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventBenchmark {
+
+    private Event event;
+
+    private EventValidator eventValidator;
+
+    private EventDto validEventDto;
+
+    private EventDto wrongEventDto;
+
+    @Setup
+    public void setUp() {
+        this.event = BenchmarkSupport.event(1);
+        this.eventValidator = new EventValidator();
+        this.validEventDto = BenchmarkSupport.eventDto();
+        this.wrongEventDto = BenchmarkSupport.eventDto();
+        this.wrongEventDto.setBasePrice(10000);
+        this.wrongEventDto.setEndEventDateTime(this.wrongEventDto.getBeginEventDateTime().minusDays(1));
+    }
+
+    @Benchmark
+    public Event update() {
+        this.event.update();
+        return this.event;
+    }
+
+    @Benchmark
+    public Errors validate() {
+        Errors errors = new BeanPropertyBindingResult(this.validEventDto, "eventDto");
+        this.eventValidator.validate(this.validEventDto, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public Errors validateWrongInput() {
+        Errors errors = new BeanPropertyBindingResult(this.wrongEventDto, "eventDto");
+        this.eventValidator.validate(this.wrongEventDto, errors);
+        return errors;
+    }
+
+}
@@ -0,0 +1,79 @@
+package me.hycho.demorestapi.events;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+
+import me.hycho.demorestapi.BenchmarkSupport;
+
+/**
+ * 목록 응답(20건)의 링크 생성 비용: 리소스마다 linkTo() vs EventLinks
+ * EventLinks는 요청 단위로 기준 URI를 캐시하므로 매 호출마다 새 요청을 바인딩해서 측정한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventLinksBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private List<Event> events;
+
+    @Setup
+    public void setUp() {
+        this.events = IntStream.rangeClosed(1, PAGE_SIZE)
+                .mapToObj(BenchmarkSupport::event)
+                .collect(Collectors.toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkSupport.unbindRequest();
+    }
+
+    @Benchmark
+    public CollectionModel<EntityModel<Event>> linkToPerResource() {
+        BenchmarkSupport.bindRequest("/api/events");
+        List<EntityModel<Event>> resources = this.events.stream()
+                .map(event -> new EntityModel<>(event, linkTo(EventController.class).slash(event.getId()).withSelfRel()))
+                .collect(Collectors.toList());
+        CollectionModel<EntityModel<Event>> model = new CollectionModel<>(resources);
+        model.add(new Link("/docs/index.html#resources-events-list").withRel("profile"));
+        model.add(linkTo(EventController.class).withRel("create-event"));
+        return model;
+    }
+
+    @Benchmark
+    public CollectionModel<EventResource> eventLinks() {
+        BenchmarkSupport.bindRequest("/api/events");
+        List<EventResource> resources = this.events.stream()
+                .map(EventResource::new)
+                .collect(Collectors.toList());
+        CollectionModel<EventResource> model = new CollectionModel<>(resources);
+        model.add(EventLinks.PROFILE_LIST);
+        model.add(EventLinks.eventsLink().withRel("create-event"));
+        return model;
+    }
+
+}
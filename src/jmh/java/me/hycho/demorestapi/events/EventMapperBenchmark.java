@@ -0,0 +1,71 @@
+package me.hycho.demorestapi.events;
+
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.hycho.demorestapi.BenchmarkSupport;
+
+/**
+ * 쓰기 요청의 EventDto -> Event 변환 비용: ModelMapper vs EventMapper
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventMapperBenchmark {
+
+    private ModelMapper modelMapper;
+
+    private EventMapper eventMapper;
+
+    private EventDto eventDto;
+
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        this.modelMapper = new ModelMapper();
+        this.eventMapper = new EventMapper();
+        this.eventDto = BenchmarkSupport.eventDto();
+        this.event = new Event();
+
+        // 첫 호출에서 만들어지는 TypeMap은 측정에서 제외
+        this.modelMapper.map(this.eventDto, Event.class);
+    }
+
+    @Benchmark
+    public Event modelMapperCreate() {
+        return this.modelMapper.map(this.eventDto, Event.class);
+    }
+
+    @Benchmark
+    public Event eventMapperCreate() {
+        return this.eventMapper.toEvent(this.eventDto);
+    }
+
+    @Benchmark
+    public Event modelMapperUpdate() {
+        this.modelMapper.map(this.eventDto, this.event);
+        return this.event;
+    }
+
+    @Benchmark
+    public Event eventMapperUpdate() {
+        this.eventMapper.update(this.eventDto, this.event);
+        return this.event;
+    }
+
+}
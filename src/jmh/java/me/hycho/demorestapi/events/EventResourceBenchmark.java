@@ -0,0 +1,124 @@
+package me.hycho.demorestapi.events;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.PagedModel;
+
+import me.hycho.demorestapi.BenchmarkSupport;
+
+/**
+ * 이벤트 단건/목록 응답의 HAL 링크 생성(assemble) 및 JSON 직렬화 비용
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventResourceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectMapper objectMapper;
+
+    private PagedResourcesAssembler<EventSummary> assembler;
+
+    private Event event;
+
+    private Page<EventSummary> page;
+
+    private EventResource eventResource;
+
+    private PagedModel<EventSummaryResource> pagedModel;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.bindRequest("/api/events");
+        this.objectMapper = BenchmarkSupport.halObjectMapper();
+        this.assembler = new PagedResourcesAssembler<>(new HateoasPageableHandlerMethodArgumentResolver(), null);
+
+        this.event = BenchmarkSupport.event(1);
+        List<EventSummary> events = IntStream.rangeClosed(1, PAGE_SIZE)
+                .mapToObj(BenchmarkSupport::eventSummary)
+                .collect(Collectors.toList());
+        this.page = new PageImpl<>(events, PageRequest.of(1, PAGE_SIZE), 1000);
+
+        this.eventResource = eventResource();
+        this.pagedModel = pagedModel();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkSupport.unbindRequest();
+    }
+
+    @Benchmark
+    public EventResource assembleEvent() {
+        return eventResource();
+    }
+
+    @Benchmark
+    public byte[] serializeEvent() throws Exception {
+        return this.objectMapper.writeValueAsBytes(this.eventResource);
+    }
+
+    @Benchmark
+    public byte[] assembleAndSerializeEvent() throws Exception {
+        return this.objectMapper.writeValueAsBytes(eventResource());
+    }
+
+    @Benchmark
+    public PagedModel<EventSummaryResource> assemblePage() {
+        return pagedModel();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return this.objectMapper.writeValueAsBytes(this.pagedModel);
+    }
+
+    @Benchmark
+    public byte[] assembleAndSerializePage() throws Exception {
+        return this.objectMapper.writeValueAsBytes(pagedModel());
+    }
+
+    /**
+     * EventController.getEvent()와 같은 링크 구성
+     */
+    private EventResource eventResource() {
+        EventResource eventResource = new EventResource(this.event);
+        eventResource.add(EventLinks.PROFILE_GET);
+        return eventResource;
+    }
+
+    /**
+     * EventController.queryEvents()와 같은 링크 구성
+     */
+    private PagedModel<EventSummaryResource> pagedModel() {
+        PagedModel<EventSummaryResource> model = this.assembler.toModel(this.page, EventSummaryResource::new);
+        model.add(EventLinks.PROFILE_LIST);
+        return model;
+    }
+
+}
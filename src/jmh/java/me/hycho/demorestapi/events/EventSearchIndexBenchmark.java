@@ -0,0 +1,109 @@
+package me.hycho.demorestapi.events;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * 검색 인덱스 조회 비용 (이벤트 수, 검색어의 흔한 정도에 따라)
+ * 단어는 Zipf 분포로 뽑아서 흔한 단어(w0)와 드문 단어(w5000)의 posting list 길이가 크게 다르다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class EventSearchIndexBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+
+    private static final int WORDS_PER_EVENT = 12;
+
+    @Param({ "1000000" })
+    private int events;
+
+    private EventSearchIndex searchIndex;
+
+    private int updated;
+
+    private final Pageable pageable = PageRequest.of(0, 20);
+
+    @Setup
+    public void setUp() {
+        this.searchIndex = new EventSearchIndex(null);
+        Random random = new Random(42);
+        double[] cumulative = zipf(VOCABULARY);
+        StringBuilder description = new StringBuilder();
+        for (int id = 1; id <= this.events; id++) {
+            description.setLength(0);
+            for (int i = 0; i < WORDS_PER_EVENT; i++) {
+                description.append('w').append(word(cumulative, random.nextDouble())).append(' ');
+            }
+            this.searchIndex.index(id, 0, "event " + id, description.toString());
+        }
+    }
+
+    @Benchmark
+    public Page<Integer> rareTerm() {
+        return this.searchIndex.search("w5000", this.pageable);
+    }
+
+    @Benchmark
+    public Page<Integer> rareTerms() {
+        return this.searchIndex.search("w5000 w12000 w30000", this.pageable);
+    }
+
+    @Benchmark
+    public Page<Integer> mediumTerm() {
+        return this.searchIndex.search("w200", this.pageable);
+    }
+
+    @Benchmark
+    public Page<Integer> commonTerm() {
+        return this.searchIndex.search("w0", this.pageable);
+    }
+
+    /**
+     * 흔한 단어를 포함한 이벤트 수정 (이전 posting 삭제 표시와 추가)
+     */
+    @Benchmark
+    public void update() {
+        int id = this.updated++ % this.events + 1;
+        this.searchIndex.index(id, 0, "event " + id, "w0 w1 w2 w200 w5000");
+    }
+
+    private static double[] zipf(int size) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int word(double[] cumulative, double value) {
+        int index = Arrays.binarySearch(cumulative, value);
+        return index >= 0 ? index : Math.min(-index - 1, cumulative.length - 1);
+    }
+
+}
@@ -1,15 +1,15 @@
 package me.hycho.demorestapi.accounts;
 
+import java.io.Serializable;
 import java.util.Set;
 
 import javax.persistence.Column;
-import javax.persistence.ElementCollection;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
-import javax.persistence.EnumType;
-import javax.persistence.Enumerated;
-import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -22,9 +22,13 @@ import lombok.Setter;
 @Getter @Setter
 @EqualsAndHashCode(of = "id")
 @Builder @NoArgsConstructor @AllArgsConstructor
-public class Account {
-    
-    @Id @GeneratedValue
+public class Account implements Serializable {
+
+    private static final long serialVersionUID = 1L; // jdbc TokenStore에 인증 정보(AccountAdapter)와 함께 직렬화
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_seq")
+    @SequenceGenerator(name = "account_seq", sequenceName = "account_seq", allocationSize = 50)
     private Integer id;
 
     @Column(unique = true)
@@ -32,7 +36,6 @@ public class Account {
 
     private String password;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @Enumerated(EnumType.STRING)
-    private Set<AccountRole> roles;
+    @Convert(converter = AccountRolesConverter.class)
+    private Set<AccountRole> roles; // bitmask 컬럼 (AccountRole.bit)
 }
@@ -1,26 +1,32 @@
 package me.hycho.demorestapi.accounts;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 
 public class AccountAdapter extends User {
-    
+
+    private static final long serialVersionUID = 1L;
+
     private Account account;
 
+    private Set<GrantedAuthority> authorities;
+
+    /**
+     * 권한은 AccountRole에서 미리 만들어 둔 목록을 그대로 사용한다. (User가 권한마다 새로 정렬/복사하지 않도록 빈 목록을 넘긴다)
+     */
     public AccountAdapter(Account account) {
-        super(account.getEmail(), account.getPassword(), authorities(account.getRoles()));
+        super(account.getEmail(), account.getPassword(), Collections.emptySet());
         this.account = account;
+        this.authorities = AccountRole.authorities(account.getRoles());
     }
 
-    private static Collection<? extends GrantedAuthority> authorities(Set<AccountRole> roles) {
-        return roles.stream()
-                .map(r -> new SimpleGrantedAuthority("ROLE_" + r.name()))
-                .collect(Collectors.toSet());
+    @Override
+    public Collection<GrantedAuthority> getAuthorities() {
+        return this.authorities;
     }
 
     public Account getAccount() {
@@ -2,10 +2,17 @@ package me.hycho.demorestapi.accounts;
 
 import java.util.Optional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface AccountRepository extends JpaRepository<Account, Integer> {
 
+	@Cacheable(cacheNames = "accounts", unless = "#result == null")
 	Optional<Account> findByEmail(String username);
 
+	@Override
+	@CacheEvict(cacheNames = "accounts", key = "#p0.email")
+	<S extends Account> S save(S account);
+
 }
@@ -1,5 +1,78 @@
 package me.hycho.demorestapi.accounts;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * 계정 권한
+ * DB에는 권한별 bit를 합한 값(bitmask)으로 저장한다. (AccountRolesConverter)
+ * bit 값은 저장된 데이터의 의미이므로 바꾸면 안 되고, 새 권한은 다음 bit를 사용한다.
+ */
 public enum AccountRole {
-    ADMIN, USER
+    ADMIN(1), USER(1 << 1);
+
+    private static final int ALL_BITS = (1 << values().length) - 1;
+
+    @SuppressWarnings("unchecked")
+    private static final Set<AccountRole>[] ROLES = new Set[ALL_BITS + 1];
+
+    @SuppressWarnings("unchecked")
+    private static final Set<GrantedAuthority>[] AUTHORITIES = new Set[ALL_BITS + 1];
+
+    static {
+        // 가능한 모든 bitmask 조합의 권한 목록을 미리 만들어 두고 공유한다.
+        for (int mask = 0; mask <= ALL_BITS; mask++) {
+            EnumSet<AccountRole> roles = EnumSet.noneOf(AccountRole.class);
+            for (AccountRole role : values()) {
+                if ((mask & role.bit) != 0) {
+                    roles.add(role);
+                }
+            }
+            ROLES[mask] = Collections.unmodifiableSet(roles);
+            AUTHORITIES[mask] = Collections.unmodifiableSet(roles.stream()
+                    .map(r -> new SimpleGrantedAuthority("ROLE_" + r.name()))
+                    .collect(Collectors.toSet()));
+        }
+    }
+
+    private final int bit;
+
+    AccountRole(int bit) {
+        this.bit = bit;
+    }
+
+    public int getBit() {
+        return this.bit;
+    }
+
+    public static int toMask(Set<AccountRole> roles) {
+        int mask = 0;
+        for (AccountRole role : roles) {
+            mask |= role.bit;
+        }
+        return mask;
+    }
+
+    /**
+     * bitmask에 해당하는 권한 목록 (수정 불가, 같은 값이면 같은 인스턴스)
+     */
+    public static Set<AccountRole> fromMask(int mask) {
+        if ((mask & ~ALL_BITS) != 0) {
+            throw new IllegalArgumentException("Unknown role bits: " + mask);
+        }
+        return ROLES[mask];
+    }
+
+    /**
+     * 권한 목록에 해당하는 GrantedAuthority 목록 (ROLE_ 접두사, 수정 불가, 같은 권한이면 같은 인스턴스)
+     */
+    public static Set<GrantedAuthority> authorities(Set<AccountRole> roles) {
+        return AUTHORITIES[toMask(roles)];
+    }
+
 }
@@ -0,0 +1,25 @@
+package me.hycho.demorestapi.accounts;
+
+import java.util.Set;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Account.roles <-> bitmask(int) 컬럼 변환
+ * 권한을 별도 테이블(@ElementCollection) 대신 계정 행에 저장해서 계정 조회가 한 번의 쿼리로 끝난다.
+ */
+@Converter
+public class AccountRolesConverter implements AttributeConverter<Set<AccountRole>, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(Set<AccountRole> roles) {
+        return roles == null ? null : AccountRole.toMask(roles);
+    }
+
+    @Override
+    public Set<AccountRole> convertToEntityAttribute(Integer mask) {
+        return mask == null ? null : AccountRole.fromMask(mask);
+    }
+
+}
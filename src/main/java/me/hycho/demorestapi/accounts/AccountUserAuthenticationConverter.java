@@ -0,0 +1,60 @@
+package me.hycho.demorestapi.accounts;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.provider.token.DefaultUserAuthenticationConverter;
+
+/**
+ * JWT 토큰의 사용자 정보 변환
+ * 토큰을 만들 때 계정 id를 claim(account_id)에 추가하고, 토큰을 읽을 때는 claim만으로 AccountAdapter를 만든다.
+ * (@CurrentUser로 받는 Account는 id, email, roles만 가지고 있다)
+ */
+public class AccountUserAuthenticationConverter extends DefaultUserAuthenticationConverter {
+
+    public static final String ACCOUNT_ID = "account_id";
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, ?> convertUserAuthentication(Authentication authentication) {
+        Map<String, Object> response = (Map<String, Object>) super.convertUserAuthentication(authentication);
+        if (authentication.getPrincipal() instanceof AccountAdapter) {
+            response.put(ACCOUNT_ID, ((AccountAdapter) authentication.getPrincipal()).getAccount().getId());
+        }
+        return response;
+    }
+
+    @Override
+    public Authentication extractAuthentication(Map<String, ?> map) {
+        Authentication authentication = super.extractAuthentication(map);
+        if (authentication == null || !(map.get(ACCOUNT_ID) instanceof Number)) {
+            return authentication;
+        }
+
+        Account account = Account.builder()
+                .id(((Number) map.get(ACCOUNT_ID)).intValue())
+                .email(authentication.getName())
+                .password("")
+                .roles(roles(authentication.getAuthorities()))
+                .build();
+        return new UsernamePasswordAuthenticationToken(new AccountAdapter(account), "N/A", authentication.getAuthorities());
+    }
+
+    private Set<AccountRole> roles(Collection<? extends GrantedAuthority> authorities) {
+        int mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            String name = authority.getAuthority();
+            if (name.startsWith(ROLE_PREFIX)) {
+                mask |= AccountRole.valueOf(name.substring(ROLE_PREFIX.length())).getBit();
+            }
+        }
+        return AccountRole.fromMask(mask);
+    }
+
+}
@@ -0,0 +1,26 @@
+package me.hycho.demorestapi.accounts;
+
+/**
+ * 비밀번호 해시 작업 대기열이 가득 찬 경우 (503 응답)
+ */
+public class PasswordEncoderBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordEncoderBusyException(String message) {
+        super(message);
+    }
+
+    /**
+     * 예외 원인 중에 PasswordEncoderBusyException이 있는지 확인
+     */
+    public static boolean isCause(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof PasswordEncoderBusyException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
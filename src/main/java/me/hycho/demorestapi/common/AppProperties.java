@@ -1,5 +1,6 @@
 package me.hycho.demorestapi.common;
 
+import java.time.Duration;
 
 import javax.validation.constraints.NotEmpty;
 
@@ -32,4 +33,88 @@ public class AppProperties {
     @NotEmpty
     private String clientSecret;
 
+    /**
+     * 이벤트 목록 조회(count=cached)에서 전체 개수를 캐시하는 시간
+     */
+    private Duration eventCountCacheTtl = Duration.ofSeconds(30);
+
+    /**
+     * 토큰 저장 방식
+     * memory: 발급한 토큰을 서버 메모리에 저장 (기본값)
+     * jwt: 인증 정보를 서명된 토큰에 담아서 저장소 없이 검증
+     * jdbc: 여러 서버가 DB 테이블을 공유하고, 서버마다 최근 토큰을 메모리에 캐시
+     */
+    private String tokenStore = "memory";
+
+    /**
+     * jwt 방식에서 토큰 서명(HMAC)에 사용하는 키
+     */
+    private String jwtSigningKey;
+
+    /**
+     * jdbc 방식에서 서버마다 캐시하는 토큰 수
+     */
+    private long tokenCacheSize = 10_000;
+
+    /**
+     * jdbc 방식에서 캐시한 토큰을 다시 DB에서 확인하기까지의 시간 (다른 서버에서 삭제한 토큰이 반영되는 최대 시간)
+     */
+    private Duration tokenCacheTtl = Duration.ofMinutes(1);
+
+    /**
+     * jdbc 방식에서 만료된 토큰을 삭제하는 주기
+     */
+    private Duration tokenSweepInterval = Duration.ofMinutes(5);
+
+    /**
+     * 비밀번호 해시를 동시에 실행하는 스레드 수 (기본값: CPU 코어 수)
+     */
+    private int passwordHashingThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 비밀번호 해시 대기열 크기 (가득 차면 503 응답)
+     */
+    private int passwordHashingQueueCapacity = 100;
+
+    /**
+     * 시작할 때 기본 계정 생성을 별도 스레드에서 실행 (애플리케이션 시작을 기다리게 하지 않는다)
+     */
+    private boolean seedAccountsAsync = false;
+
+    /**
+     * 등록/이벤트 일시에 맞춰 이벤트 상태를 자동으로 전환 (EventStatusScheduler)
+     */
+    private boolean eventStatusTransition = true;
+
+    /**
+     * 상태 전환 UPDATE 한 번에 변경하는 최대 이벤트 수
+     */
+    private int eventStatusBatchSize = 500;
+
+    /**
+     * 요청마다 단계별 처리 시간을 Server-Timing 응답 헤더로 보낸다. (진단용, 기본값 false)
+     * 켜면 JDBC 연결을 감싸고 작은 응답 본문을 헤더를 쓸 때까지 버퍼에 담는다.
+     */
+    private boolean serverTiming = false;
+
+    /**
+     * serverTiming을 켰을 때 이 시간보다 오래 걸린 요청은 단계별 시간을 로그로 남긴다.
+     */
+    private Duration serverTimingLogThreshold = Duration.ofMillis(500);
+
+    /**
+     * 요청마다 요청 스레드의 메모리 할당량을 핸들러별로 기록 (http.server.allocation)
+     */
+    private boolean allocationMetrics = true;
+
+    /**
+     * /actuator/slowqueries에서 보여주는 가장 느린 SQL 수
+     */
+    private int slowQueryCapacity = 50;
+
+    /**
+     * 바인드 값과 함께 로그로 남기는 SQL 비율 (0이면 남기지 않는다, 1이면 모두)
+     */
+    private double sqlLogSampleRate = 0;
+
 }
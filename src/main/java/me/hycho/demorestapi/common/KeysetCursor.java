@@ -0,0 +1,34 @@
+package me.hycho.demorestapi.common;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * 커서 기반(keyset) 페이징에서 사용하는 불투명(opaque) 커서
+ * 클라이언트는 커서의 내용을 해석하지 않고 응답의 링크를 그대로 따라가야 한다.
+ */
+public final class KeysetCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(int id) {
+        return ENCODER.encodeToString(ByteBuffer.allocate(Integer.BYTES).putInt(id).array());
+    }
+
+    /**
+     * @throws IllegalArgumentException 잘못된 커서인 경우
+     */
+    public static int decode(String cursor) {
+        byte[] bytes = DECODER.decode(cursor);
+        if (bytes.length != Integer.BYTES) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return ByteBuffer.wrap(bytes).getInt();
+    }
+
+}
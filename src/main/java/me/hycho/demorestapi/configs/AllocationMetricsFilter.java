@@ -0,0 +1,92 @@
+package me.hycho.demorestapi.configs;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 요청마다 요청 스레드가 할당한 메모리(바이트)를 핸들러 메소드별로 기록 (http.server.allocation)
+ * HotSpot의 스레드별 할당량 카운터(com.sun.management.ThreadMXBean)를 요청 전후로 읽은 차이이므로,
+ * 보안 필터, 핸들러, 직렬화까지 포함하고 다른 스레드(비밀번호 해시, 신청 저장 등)의 할당은 포함하지 않는다.
+ * 핸들러 태그는 "EventController.queryEvents" 형식이고, 핸들러를 찾지 못한 요청(인증 실패, 404)은 "none"이다.
+ */
+@Slf4j
+class AllocationMetricsFilter extends OncePerRequestFilter {
+
+    private static final String NO_HANDLER = "none";
+
+    private final com.sun.management.ThreadMXBean threadMXBean;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Object, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    AllocationMetricsFilter(MeterRegistry meterRegistry) {
+        this.threadMXBean = allocationCounter();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * JVM이 스레드별 할당량 측정을 지원하지 않으면 기록하지 않는다.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return this.threadMXBean == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long threadId = Thread.currentThread().getId();
+        long before = this.threadMXBean.getThreadAllocatedBytes(threadId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long allocated = this.threadMXBean.getThreadAllocatedBytes(threadId) - before;
+            if (before >= 0 && allocated >= 0) {
+                summary(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE)).record(allocated);
+            }
+        }
+    }
+
+    private DistributionSummary summary(Object handler) {
+        Object key = handler instanceof HandlerMethod ? ((HandlerMethod) handler).getMethod() : NO_HANDLER;
+        return this.summaries.computeIfAbsent(key, method -> DistributionSummary.builder("http.server.allocation")
+                .description("Bytes allocated by the request thread while serving a request")
+                .baseUnit("bytes")
+                .tag("handler", handler instanceof HandlerMethod ? handlerName((HandlerMethod) handler) : NO_HANDLER)
+                .register(this.meterRegistry));
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()) {
+            com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threadMXBean;
+            allocation.setThreadAllocatedMemoryEnabled(true);
+            return allocation;
+        }
+        log.warn("Thread allocated memory is not supported by this JVM, allocation metrics are disabled");
+        return null;
+    }
+
+    static String handlerName(HandlerMethod handler) {
+        return handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+    }
+
+}
@@ -1,21 +1,28 @@
 package me.hycho.demorestapi.configs;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import me.hycho.demorestapi.accounts.Account;
 import me.hycho.demorestapi.accounts.AccountRole;
 import me.hycho.demorestapi.accounts.AccountService;
+import me.hycho.demorestapi.accounts.BoundedPasswordEncoder;
 import me.hycho.demorestapi.common.AppProperties;
 
+@Slf4j
 @Configuration
 public class AppConfig {
     
@@ -24,9 +31,24 @@ public class AppConfig {
         return new ModelMapper();
     }
 
+    /**
+     * 비밀번호 해시는 전용 스레드 풀에서 실행 (BoundedPasswordEncoder)
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    public PasswordEncoder passwordEncoder(AppProperties appProperties, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder(),
+                appProperties.getPasswordHashingThreads(), appProperties.getPasswordHashingQueueCapacity(), meterRegistry);
+    }
+
+    /**
+     * 비밀번호 해시 대기열이 가득 차서 인증 필터에서 발생한 예외를 503 응답으로 변환
+     */
+    @Bean
+    public FilterRegistrationBean<PasswordEncoderBusyFilter> passwordEncoderBusyFilter() {
+        FilterRegistrationBean<PasswordEncoderBusyFilter> registration = new FilterRegistrationBean<>(new PasswordEncoderBusyFilter());
+        registration.addUrlPatterns("/oauth/token");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
     }
 
     @Bean
@@ -41,6 +63,18 @@ public class AppConfig {
 
             @Override
             public void run(ApplicationArguments args) throws Exception {
+                if (appProperties.isSeedAccountsAsync()) {
+                    CompletableFuture.runAsync(this::saveAccounts)
+                            .exceptionally(e -> {
+                                log.error("Failed to save default accounts", e);
+                                return null;
+                            });
+                } else {
+                    saveAccounts();
+                }
+            }
+
+            private void saveAccounts() {
                 Account admin = Account.builder()
                         .email(appProperties.getAdminUsername())
                         .password(appProperties.getAdminPassword())
@@ -0,0 +1,39 @@
+package me.hycho.demorestapi.configs;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import me.hycho.demorestapi.events.Event;
+
+/**
+ * 엔티티 조회 캐시 (Caffeine)
+ * 캐시 이름, 크기, TTL은 application.properties의 spring.cache.* 에서 설정한다.
+ * events 캐시는 저장할 때 새 엔티티로 교체하고, 이미 있는 것보다 오래된 버전은 넣지 않는다. (VersionedCaffeineCache)
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CaffeineCacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                if ("events".equals(name)) {
+                    return new VersionedCaffeineCache(name, cache, value -> ((Event) value).getVersion());
+                }
+                return super.adaptCaffeineCache(name, cache);
+            }
+        };
+        cacheManager.setCacheSpecification(cacheProperties.getCaffeine().getSpec());
+        cacheManager.setCacheNames(cacheProperties.getCacheNames());
+        return cacheManager;
+    }
+
+}
@@ -0,0 +1,131 @@
+package me.hycho.demorestapi.configs;
+
+import java.time.Duration;
+import java.util.Collection;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2RefreshToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+
+/**
+ * 공유 TokenStore 앞에 두는 서버별 캐시 (near cache)
+ * 리소스 서버는 요청마다 readAccessToken, readAuthentication을 호출하므로 최근에 본 토큰은 DB를 거치지 않는다.
+ * 다른 서버에서 삭제한 토큰은 ttl이 지나야 반영된다.
+ */
+public class CachingTokenStore implements TokenStore {
+
+    private final TokenStore delegate;
+
+    private final Cache<String, CachedToken> cache;
+
+    public CachingTokenStore(TokenStore delegate, long maximumSize, Duration ttl) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Cache<String, ?> getCache() {
+        return this.cache;
+    }
+
+    @Override
+    public OAuth2AccessToken readAccessToken(String tokenValue) {
+        CachedToken cachedToken = cache.get(tokenValue, this::load);
+        return cachedToken == null ? null : cachedToken.accessToken;
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(String token) {
+        CachedToken cachedToken = cache.get(token, this::load);
+        return cachedToken == null ? null : cachedToken.authentication;
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(OAuth2AccessToken token) {
+        return readAuthentication(token.getValue());
+    }
+
+    @Override
+    public void storeAccessToken(OAuth2AccessToken token, OAuth2Authentication authentication) {
+        delegate.storeAccessToken(token, authentication);
+        cache.put(token.getValue(), new CachedToken(token, authentication));
+    }
+
+    @Override
+    public void removeAccessToken(OAuth2AccessToken token) {
+        cache.invalidate(token.getValue());
+        delegate.removeAccessToken(token);
+    }
+
+    @Override
+    public OAuth2AccessToken getAccessToken(OAuth2Authentication authentication) {
+        return delegate.getAccessToken(authentication);
+    }
+
+    @Override
+    public void storeRefreshToken(OAuth2RefreshToken refreshToken, OAuth2Authentication authentication) {
+        delegate.storeRefreshToken(refreshToken, authentication);
+    }
+
+    @Override
+    public OAuth2RefreshToken readRefreshToken(String tokenValue) {
+        return delegate.readRefreshToken(tokenValue);
+    }
+
+    @Override
+    public OAuth2Authentication readAuthenticationForRefreshToken(OAuth2RefreshToken token) {
+        return delegate.readAuthenticationForRefreshToken(token);
+    }
+
+    @Override
+    public void removeRefreshToken(OAuth2RefreshToken token) {
+        delegate.removeRefreshToken(token);
+    }
+
+    /**
+     * refresh token으로 삭제되는 access token의 값은 알 수 없으므로 캐시에서는 ttl이 지나야 빠진다.
+     */
+    @Override
+    public void removeAccessTokenUsingRefreshToken(OAuth2RefreshToken refreshToken) {
+        delegate.removeAccessTokenUsingRefreshToken(refreshToken);
+    }
+
+    @Override
+    public Collection<OAuth2AccessToken> findTokensByClientIdAndUserName(String clientId, String userName) {
+        return delegate.findTokensByClientIdAndUserName(clientId, userName);
+    }
+
+    @Override
+    public Collection<OAuth2AccessToken> findTokensByClientId(String clientId) {
+        return delegate.findTokensByClientId(clientId);
+    }
+
+    private CachedToken load(String tokenValue) {
+        OAuth2AccessToken accessToken = delegate.readAccessToken(tokenValue);
+        if (accessToken == null) {
+            return null;
+        }
+        return new CachedToken(accessToken, delegate.readAuthentication(tokenValue));
+    }
+
+    static final class CachedToken {
+
+        private final OAuth2AccessToken accessToken;
+
+        private final OAuth2Authentication authentication;
+
+        private CachedToken(OAuth2AccessToken accessToken, OAuth2Authentication authentication) {
+            this.accessToken = accessToken;
+            this.authentication = authentication;
+        }
+
+    }
+
+}
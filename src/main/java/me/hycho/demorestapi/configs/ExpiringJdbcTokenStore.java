@@ -0,0 +1,125 @@
+package me.hycho.demorestapi.configs;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Date;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.support.SqlLobValue;
+import org.springframework.security.oauth2.common.ExpiringOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2RefreshToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.AuthenticationKeyGenerator;
+import org.springframework.security.oauth2.provider.token.DefaultAuthenticationKeyGenerator;
+import org.springframework.security.oauth2.provider.token.store.JdbcTokenStore;
+
+/**
+ * 만료 시각을 함께 저장하는 JdbcTokenStore (테이블은 schema-token-store.sql)
+ * 만료된 토큰은 조회할 때마다 확인하지 않고 deleteExpiredTokens()에서 주기적으로 모아서 삭제한다.
+ */
+public class ExpiringJdbcTokenStore extends JdbcTokenStore {
+
+    private static final String INSERT_ACCESS_TOKEN_SQL = "insert into oauth_access_token "
+            + "(token_id, token, authentication_id, user_name, client_id, authentication, refresh_token, expiration) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_REFRESH_TOKEN_SQL = "insert into oauth_refresh_token "
+            + "(token_id, token, authentication, expiration) values (?, ?, ?, ?)";
+
+    private static final String DELETE_EXPIRED_ACCESS_TOKENS_SQL = "delete from oauth_access_token where authentication_id in "
+            + "(select authentication_id from oauth_access_token where expiration < ? limit ?)";
+
+    private static final String DELETE_EXPIRED_REFRESH_TOKENS_SQL = "delete from oauth_refresh_token where token_id in "
+            + "(select token_id from oauth_refresh_token where expiration < ? limit ?)";
+
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private AuthenticationKeyGenerator authenticationKeyGenerator = new DefaultAuthenticationKeyGenerator();
+
+    public ExpiringJdbcTokenStore(DataSource dataSource) {
+        super(dataSource);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void setAuthenticationKeyGenerator(AuthenticationKeyGenerator authenticationKeyGenerator) {
+        super.setAuthenticationKeyGenerator(authenticationKeyGenerator);
+        this.authenticationKeyGenerator = authenticationKeyGenerator;
+    }
+
+    @Override
+    public void storeAccessToken(OAuth2AccessToken token, OAuth2Authentication authentication) {
+        String refreshToken = token.getRefreshToken() == null ? null : token.getRefreshToken().getValue();
+        if (readAccessToken(token.getValue()) != null) {
+            removeAccessToken(token.getValue());
+        }
+
+        jdbcTemplate.update(INSERT_ACCESS_TOKEN_SQL,
+                new Object[] {
+                    extractTokenKey(token.getValue()),
+                    new SqlLobValue(serializeAccessToken(token)),
+                    authenticationKeyGenerator.extractKey(authentication),
+                    authentication.isClientOnly() ? null : authentication.getName(),
+                    authentication.getOAuth2Request().getClientId(),
+                    new SqlLobValue(serializeAuthentication(authentication)),
+                    extractTokenKey(refreshToken),
+                    timestamp(token.getExpiration())
+                },
+                new int[] {
+                    Types.VARCHAR, Types.BLOB, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BLOB, Types.VARCHAR, Types.TIMESTAMP
+                });
+    }
+
+    @Override
+    public void storeRefreshToken(OAuth2RefreshToken refreshToken, OAuth2Authentication authentication) {
+        Date expiration = refreshToken instanceof ExpiringOAuth2RefreshToken
+                ? ((ExpiringOAuth2RefreshToken) refreshToken).getExpiration()
+                : null;
+
+        jdbcTemplate.update(INSERT_REFRESH_TOKEN_SQL,
+                new Object[] {
+                    extractTokenKey(refreshToken.getValue()),
+                    new SqlLobValue(serializeRefreshToken(refreshToken)),
+                    new SqlLobValue(serializeAuthentication(authentication)),
+                    timestamp(expiration)
+                },
+                new int[] { Types.VARCHAR, Types.BLOB, Types.BLOB, Types.TIMESTAMP });
+    }
+
+    /**
+     * 만료된 access/refresh 토큰 삭제
+     * 한 번에 SWEEP_BATCH_SIZE 건씩 나눠서 삭제해서 테이블 잠금을 짧게 유지한다.
+     * @return 삭제한 토큰 수
+     */
+    public int deleteExpiredTokens(Instant now) {
+        Timestamp expiredBefore = Timestamp.from(now);
+        return deleteInBatches(DELETE_EXPIRED_ACCESS_TOKENS_SQL, expiredBefore)
+                + deleteInBatches(DELETE_EXPIRED_REFRESH_TOKENS_SQL, expiredBefore);
+    }
+
+    public long countAccessTokens() {
+        Long count = jdbcTemplate.queryForObject("select count(*) from oauth_access_token", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private int deleteInBatches(String sql, Timestamp expiredBefore) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, expiredBefore, SWEEP_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == SWEEP_BATCH_SIZE);
+        return total;
+    }
+
+    private Timestamp timestamp(Date date) {
+        return date == null ? null : new Timestamp(date.getTime());
+    }
+
+}
@@ -0,0 +1,142 @@
+package me.hycho.demorestapi.configs;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+import lombok.Getter;
+
+/**
+ * 요청 하나에서 Hibernate가 실행한 작업 수 (HibernateStatisticsFilter가 요청 스레드에 연결한다)
+ * 전역 Statistics와 달리 다른 스레드(상태 전환, 신청 저장 등)의 작업은 포함하지 않는다.
+ * 요청이 끝나면 요청 속성(ATTRIBUTE)으로 남겨서 테스트에서 요청별로 확인할 수 있다.
+ */
+@Getter
+public class HibernateRequestStatistics {
+
+    public static final String ATTRIBUTE = HibernateRequestStatistics.class.getName();
+
+    private static final ThreadLocal<HibernateRequestStatistics> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 준비한 JDBC Statement 수 (Statistics.getPrepareStatementCount와 같은 기준)
+     */
+    private int statements;
+
+    /**
+     * 로딩한 엔티티 수
+     */
+    private int entityLoads;
+
+    /**
+     * 초기화한 컬렉션 수
+     */
+    private int collectionFetches;
+
+    private int cacheHits;
+
+    private int cacheMisses;
+
+    /**
+     * 현재 스레드의 요청 통계 (요청 밖이면 null)
+     */
+    public static HibernateRequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    static HibernateRequestStatistics open() {
+        HibernateRequestStatistics statistics = new HibernateRequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Server-Timing 항목 (예: hibernate;desc="statements=2 entities=1 collections=0 cache=0/0")
+     */
+    String toServerTiming() {
+        return "hibernate;desc=\"statements=" + this.statements + " entities=" + this.entityLoads
+                + " collections=" + this.collectionFetches + " cache=" + this.cacheHits + "/" + (this.cacheHits + this.cacheMisses) + "\"";
+    }
+
+    @Override
+    public String toString() {
+        return "statements=" + this.statements + ", entityLoads=" + this.entityLoads + ", collectionFetches=" + this.collectionFetches
+                + ", cacheHits=" + this.cacheHits + ", cacheMisses=" + this.cacheMisses;
+    }
+
+    /**
+     * 세션마다 만드는 리스너 (hibernate.session.events.auto)
+     */
+    public static class SessionListener extends BaseSessionEventListener {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void jdbcPrepareStatementStart() {
+            HibernateRequestStatistics statistics = CURRENT.get();
+            if (statistics != null) {
+                statistics.statements++;
+            }
+        }
+
+        @Override
+        public void cacheGetEnd(boolean hit) {
+            HibernateRequestStatistics statistics = CURRENT.get();
+            if (statistics != null) {
+                if (hit) {
+                    statistics.cacheHits++;
+                } else {
+                    statistics.cacheMisses++;
+                }
+            }
+        }
+    }
+
+    /**
+     * 엔티티 로딩, 컬렉션 초기화 이벤트 리스너 등록 (hibernate.integrator_provider)
+     */
+    static class ListenerIntegrator implements Integrator, PostLoadEventListener, InitializeCollectionEventListener {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+            EventListenerRegistry registry = serviceRegistry.getService(EventListenerRegistry.class);
+            registry.appendListeners(EventType.POST_LOAD, this);
+            registry.appendListeners(EventType.INIT_COLLECTION, this);
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+
+        @Override
+        public void onPostLoad(PostLoadEvent event) {
+            HibernateRequestStatistics statistics = CURRENT.get();
+            if (statistics != null) {
+                statistics.entityLoads++;
+            }
+        }
+
+        @Override
+        public void onInitializeCollection(InitializeCollectionEvent event) {
+            HibernateRequestStatistics statistics = CURRENT.get();
+            if (statistics != null) {
+                statistics.collectionFetches++;
+            }
+        }
+    }
+
+}
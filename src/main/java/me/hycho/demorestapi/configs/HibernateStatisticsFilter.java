@@ -0,0 +1,84 @@
+package me.hycho.demorestapi.configs;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 요청마다 Hibernate 작업 수(HibernateRequestStatistics)를 세고, 핸들러 메소드별 분포로 기록
+ * (hibernate.request.statements, hibernate.request.entity.loads, hibernate.request.collection.fetches)
+ */
+class HibernateStatisticsFilter extends OncePerRequestFilter {
+
+    private static final String NO_HANDLER = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Object, Summaries> summaries = new ConcurrentHashMap<>();
+
+    HibernateStatisticsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        HibernateRequestStatistics statistics = HibernateRequestStatistics.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            HibernateRequestStatistics.close();
+            request.setAttribute(HibernateRequestStatistics.ATTRIBUTE, statistics);
+            summaries(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE)).record(statistics);
+        }
+    }
+
+    private Summaries summaries(Object handler) {
+        if (handler instanceof HandlerMethod) {
+            return this.summaries.computeIfAbsent(((HandlerMethod) handler).getMethod(),
+                    method -> new Summaries(AllocationMetricsFilter.handlerName((HandlerMethod) handler)));
+        }
+        return this.summaries.computeIfAbsent(NO_HANDLER, key -> new Summaries(NO_HANDLER));
+    }
+
+    private class Summaries {
+
+        private final DistributionSummary statements;
+
+        private final DistributionSummary entityLoads;
+
+        private final DistributionSummary collectionFetches;
+
+        Summaries(String handler) {
+            this.statements = summary("hibernate.request.statements", "JDBC statements prepared by one request", handler);
+            this.entityLoads = summary("hibernate.request.entity.loads", "Entities loaded by one request", handler);
+            this.collectionFetches = summary("hibernate.request.collection.fetches", "Collections initialized by one request", handler);
+        }
+
+        void record(HibernateRequestStatistics statistics) {
+            this.statements.record(statistics.getStatements());
+            this.entityLoads.record(statistics.getEntityLoads());
+            this.collectionFetches.record(statistics.getCollectionFetches());
+        }
+
+        private DistributionSummary summary(String name, String description, String handler) {
+            return DistributionSummary.builder(name)
+                    .description(description)
+                    .tag("handler", handler)
+                    .register(meterRegistry);
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package me.hycho.demorestapi.configs;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import me.hycho.demorestapi.common.AppProperties;
+
+/**
+ * DB 공유 토큰 저장소 설정 (my-app.token-store=jdbc)
+ * 여러 서버가 같은 토큰 테이블을 사용하고, 서버마다 최근에 본 토큰을 메모리에 캐시한다.
+ * 만료된 토큰은 token-sweep-interval 마다 모아서 삭제한다.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "my-app", name = "token-store", havingValue = "jdbc")
+public class JdbcTokenConfig implements SchedulingConfigurer {
+
+    @Autowired
+    AppProperties appProperties;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private final AtomicLong storeSize = new AtomicLong();
+
+    @Bean
+    public ExpiringJdbcTokenStore jdbcTokenStore() {
+        DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource("schema-token-store.sql")), dataSource);
+        return new ExpiringJdbcTokenStore(dataSource);
+    }
+
+    @Bean
+    @Primary
+    public TokenStore tokenStore() {
+        CachingTokenStore tokenStore = new CachingTokenStore(jdbcTokenStore(),
+                appProperties.getTokenCacheSize(), appProperties.getTokenCacheTtl());
+        // Prometheus는 같은 이름의 메트릭이 같은 태그 키를 가져야 하므로 Spring 캐시 메트릭과 태그 키를 맞춘다.
+        CaffeineCacheMetrics.monitor(meterRegistry, tokenStore.getCache(), "oauth.tokens",
+                "cacheManager", "tokenStore", "name", "oauth.tokens");
+        Gauge.builder("oauth.token.store.size", storeSize, AtomicLong::get)
+                .description("Access tokens in the shared token store (as of the last sweep)")
+                .register(meterRegistry);
+        return tokenStore;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        Timer sweepTimer = Timer.builder("oauth.token.sweep")
+                .description("Time spent deleting expired tokens")
+                .register(meterRegistry);
+        Counter sweptTokens = Counter.builder("oauth.token.sweep.deleted")
+                .description("Expired tokens deleted by the sweep")
+                .register(meterRegistry);
+
+        taskRegistrar.addFixedDelayTask(() -> sweepTimer.record(() -> {
+            sweptTokens.increment(jdbcTokenStore().deleteExpiredTokens(Instant.now()));
+            storeSize.set(jdbcTokenStore().countAccessTokens());
+        }), appProperties.getTokenSweepInterval().toMillis());
+    }
+
+}
@@ -0,0 +1,45 @@
+package me.hycho.demorestapi.configs;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.provider.token.DefaultAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+import org.springframework.util.Assert;
+
+import me.hycho.demorestapi.accounts.AccountUserAuthenticationConverter;
+import me.hycho.demorestapi.common.AppProperties;
+
+/**
+ * JWT 토큰 설정 (my-app.token-store=jwt)
+ * 계정 id와 권한을 토큰에 담아서 서명하므로, 리소스 서버는 저장소나 DB 조회 없이 서명 검증만으로 인증한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "my-app", name = "token-store", havingValue = "jwt")
+public class JwtTokenConfig {
+
+    @Autowired
+    AppProperties appProperties;
+
+    @Bean
+    public JwtAccessTokenConverter accessTokenConverter() {
+        Assert.hasText(appProperties.getJwtSigningKey(), "my-app.jwt-signing-key is required when my-app.token-store=jwt");
+
+        DefaultAccessTokenConverter accessTokenConverter = new DefaultAccessTokenConverter();
+        accessTokenConverter.setUserTokenConverter(new AccountUserAuthenticationConverter());
+
+        JwtAccessTokenConverter converter = new JwtAccessTokenConverter();
+        converter.setSigningKey(appProperties.getJwtSigningKey());
+        converter.setAccessTokenConverter(accessTokenConverter);
+        return converter;
+    }
+
+    @Bean
+    public TokenStore tokenStore(JwtAccessTokenConverter accessTokenConverter) {
+        return new JwtTokenStore(accessTokenConverter);
+    }
+
+}
@@ -0,0 +1,93 @@
+package me.hycho.demorestapi.configs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 메트릭 설정 (Prometheus 형식은 /actuator/prometheus)
+ * 핸들러별 응답 시간은 Spring Boot의 http.server.requests(uri 템플릿 태그)를 사용하고,
+ * 구간별 시간은 TimingAspect, 응답 직렬화 시간은 TimedHttpMessageConverter,
+ * 요청별 메모리 할당량은 AllocationMetricsFilter, 요청별 Hibernate 작업 수는 HibernateStatisticsFilter에서 기록한다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 핸들러 어댑터의 JSON/HAL 변환기를 TimedHttpMessageConverter로 감싼다.
+     * (HATEOAS가 변환기를 추가한 뒤, 반환 값 처리기를 만들기 전에 바꿔야 하므로 초기화 직전에 적용)
+     */
+    @Bean
+    public static BeanPostProcessor timedMessageConverterPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof RequestMappingHandlerAdapter) {
+                    RequestMappingHandlerAdapter adapter = (RequestMappingHandlerAdapter) bean;
+                    List<HttpMessageConverter<?>> converters = new ArrayList<>();
+                    for (HttpMessageConverter<?> converter : adapter.getMessageConverters()) {
+                        if (converter instanceof AbstractJackson2HttpMessageConverter) {
+                            converter = new TimedHttpMessageConverter((AbstractJackson2HttpMessageConverter) converter,
+                                    meterRegistry.getObject());
+                        }
+                        converters.add(converter);
+                    }
+                    adapter.setMessageConverters(converters);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * 요청별 메모리 할당량 (my-app.allocation-metrics, 기본값 true)
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "my-app", name = "allocation-metrics", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<AllocationMetricsFilter> allocationMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AllocationMetricsFilter> registration =
+                new FilterRegistrationBean<>(new AllocationMetricsFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);  // WebMvcMetricsFilter 바로 뒤 (보안 필터 체인 포함)
+        return registration;
+    }
+
+    /**
+     * 요청별 Hibernate 작업 수 (HibernateRequestStatistics)
+     */
+    @Bean
+    public FilterRegistrationBean<HibernateStatisticsFilter> hibernateStatisticsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<HibernateStatisticsFilter> registration =
+                new FilterRegistrationBean<>(new HibernateStatisticsFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        return registration;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateRequestStatisticsCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, HibernateRequestStatistics.SessionListener.class.getName());
+            properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(new HibernateRequestStatistics.ListenerIntegrator()));
+        };
+    }
+
+}
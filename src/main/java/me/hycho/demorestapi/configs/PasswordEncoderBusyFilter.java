@@ -0,0 +1,44 @@
+package me.hycho.demorestapi.configs;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import me.hycho.demorestapi.accounts.PasswordEncoderBusyException;
+
+/**
+ * 클라이언트 인증(Basic) 중에 비밀번호 해시 대기열이 가득 차면 500 대신 503 응답
+ * (토큰 발급 중에 발생한 경우는 TokenEndpointExceptionTranslator에서 처리)
+ */
+public class PasswordEncoderBusyFilter extends OncePerRequestFilter {
+
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    static final String ERROR_BODY = "{\"error\":\"temporarily_unavailable\","
+            + "\"error_description\":\"Too many password hashing requests\"}";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (RuntimeException | ServletException e) {
+            if (!PasswordEncoderBusyException.isCause(e) || response.isCommitted()) {
+                throw e;
+            }
+            response.resetBuffer();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(ERROR_BODY);
+        }
+    }
+
+}
@@ -0,0 +1,154 @@
+package me.hycho.demorestapi.configs;
+
+/**
+ * 요청 하나의 단계별 처리 시간 (ServerTimingFilter가 요청 스레드에 연결한다)
+ * 같은 단계가 중첩되면 가장 바깥쪽 구간만 더한다. (예: CachingTokenStore -> ExpiringJdbcTokenStore)
+ * 단계끼리는 겹칠 수 있다. (auth, handler 안에 db가 포함된다)
+ * 요청 스레드에서만 사용하므로 동기화하지 않는다.
+ */
+final class RequestTimings {
+
+    enum Phase {
+
+        AUTH("auth", "Security filter chain"),
+        TOKEN("token", "Token store"),
+        DB("db", "JDBC statements"),
+        MAPPING("mapping", "EventMapper"),
+        VALIDATION("validation", "EventValidator"),
+        HANDLER("handler", "Handler incl. HAL assembly"),
+        WRITE("write", "Response serialization");
+
+        private final String metric;
+
+        private final String description;
+
+        Phase(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long started = System.nanoTime();
+
+    private final long[] nanos = new long[PHASES.length];
+
+    private final int[] counts = new int[PHASES.length];
+
+    private final int[] depths = new int[PHASES.length];
+
+    private final long[] starts = new long[PHASES.length];
+
+    /**
+     * 현재 스레드의 요청 시간 (ServerTimingFilter 밖이거나 꺼져 있으면 null)
+     */
+    static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    static RequestTimings open() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    static void begin(Phase phase) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.enter(phase);
+        }
+    }
+
+    static void end(Phase phase) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.exit(phase);
+        }
+    }
+
+    void enter(Phase phase) {
+        int index = phase.ordinal();
+        if (this.depths[index]++ == 0) {
+            this.starts[index] = System.nanoTime();
+        }
+    }
+
+    void exit(Phase phase) {
+        int index = phase.ordinal();
+        if (this.depths[index] > 0 && --this.depths[index] == 0) {
+            this.nanos[index] += System.nanoTime() - this.starts[index];
+            this.counts[index]++;
+        }
+    }
+
+    long totalNanos() {
+        return System.nanoTime() - this.started;
+    }
+
+    /**
+     * Server-Timing 헤더 값 (예: total;dur=12.3, auth;desc="Security filter chain";dur=1.2, db;desc="JDBC statements (3)";dur=4.5)
+     * 진행 중인 단계는 지금까지의 시간으로 쓴다.
+     */
+    String toHeader() {
+        long now = System.nanoTime();
+        StringBuilder header = new StringBuilder(256);
+        header.append("total;dur=").append(millis(now - this.started));
+        for (Phase phase : PHASES) {
+            int index = phase.ordinal();
+            long elapsed = elapsed(index, now);
+            if (this.counts[index] == 0 && this.depths[index] == 0) {
+                continue;
+            }
+            header.append(", ").append(phase.metric).append(";desc=\"").append(phase.description);
+            if (phase == Phase.DB) {
+                header.append(" (").append(this.counts[index]).append(')');
+            }
+            header.append("\";dur=").append(millis(elapsed));
+        }
+        HibernateRequestStatistics statistics = HibernateRequestStatistics.current();
+        if (statistics != null) {
+            header.append(", ").append(statistics.toServerTiming());
+        }
+        return header.toString();
+    }
+
+    /**
+     * 로그용 key=value 목록 (예: total_ms=12.3 auth_ms=1.2 db_ms=4.5 db_count=3)
+     */
+    String toLogFields() {
+        long now = System.nanoTime();
+        StringBuilder fields = new StringBuilder(256);
+        fields.append("total_ms=").append(millis(now - this.started));
+        for (Phase phase : PHASES) {
+            int index = phase.ordinal();
+            if (this.counts[index] == 0 && this.depths[index] == 0) {
+                continue;
+            }
+            fields.append(' ').append(phase.metric).append("_ms=").append(millis(elapsed(index, now)));
+            fields.append(' ').append(phase.metric).append("_count=").append(this.counts[index]);
+        }
+        HibernateRequestStatistics statistics = HibernateRequestStatistics.current();
+        if (statistics != null) {
+            fields.append(" hibernate_statements=").append(statistics.getStatements())
+                    .append(" hibernate_entity_loads=").append(statistics.getEntityLoads())
+                    .append(" hibernate_collection_fetches=").append(statistics.getCollectionFetches());
+        }
+        return fields.toString();
+    }
+
+    private long elapsed(int index, long now) {
+        return this.depths[index] > 0 ? this.nanos[index] + (now - this.starts[index]) : this.nanos[index];
+    }
+
+    private static String millis(long nanos) {
+        return String.valueOf(Math.round(nanos / 10_000.0) / 100.0);
+    }
+
+}
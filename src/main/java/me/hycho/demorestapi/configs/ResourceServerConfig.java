@@ -1,5 +1,7 @@
 package me.hycho.demorestapi.configs;
 
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -8,6 +10,8 @@ import org.springframework.security.oauth2.config.annotation.web.configuration.R
 import org.springframework.security.oauth2.config.annotation.web.configurers.ResourceServerSecurityConfigurer;
 import org.springframework.security.oauth2.provider.error.OAuth2AccessDeniedHandler;
 
+import me.hycho.demorestapi.accounts.AccountRole;
+
 @Configuration
 @EnableResourceServer
 public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
@@ -22,8 +26,12 @@ public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
        http.anonymous()
             .and()
             .authorizeRequests()
+                .mvcMatchers(HttpMethod.GET, "/api/events/export")
+                    .authenticated()     // 전체 이벤트 내보내기는 로그인한 사용자만
                 .mvcMatchers(HttpMethod.GET, "/api/**")
                     .permitAll()
+                .requestMatchers(EndpointRequest.toAnyEndpoint().excluding(HealthEndpoint.class))
+                    .hasRole(AccountRole.ADMIN.name())     // SQL, 캐시, 메트릭 등 운영 정보는 관리자만
                 .anyRequest()
                     .authenticated()
             .and()
@@ -0,0 +1,58 @@
+package me.hycho.demorestapi.configs;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import me.hycho.demorestapi.common.AppProperties;
+
+/**
+ * Server-Timing 응답 헤더 (my-app.server-timing=true 일 때만 등록)
+ * 꺼져 있으면 필터와 인터셉터가 없고, TimingAspect, TimedHttpMessageConverter, TimingDataSource는 ThreadLocal 조회만 한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "my-app", name = "server-timing", havingValue = "true")
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(AppProperties appProperties) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(appProperties.getServerTimingLogThreshold()));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter.SecurityPassed> serverTimingSecurityPassedFilter() {
+        FilterRegistrationBean<ServerTimingFilter.SecurityPassed> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter.SecurityPassed());
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                RequestTimings.begin(RequestTimings.Phase.HANDLER);
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+                RequestTimings.end(RequestTimings.Phase.HANDLER);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,68 @@
+package me.hycho.demorestapi.configs;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 요청의 단계별 처리 시간을 Server-Timing 응답 헤더로 보내고, 오래 걸린 요청은 로그로 남긴다. (my-app.server-timing)
+ * 보안 필터 체인보다 앞에 두고 auth 단계를 시작하며, 체인을 통과하면 SecurityPassed 필터에서 auth 단계를 끝낸다.
+ */
+@Slf4j
+class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final int BUFFER_LIMIT = 64 * 1024;
+
+    private final long logThresholdNanos;
+
+    ServerTimingFilter(Duration logThreshold) {
+        this.logThresholdNanos = logThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.open();
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response, timings, BUFFER_LIMIT);
+        try {
+            timings.enter(RequestTimings.Phase.AUTH);
+            try {
+                filterChain.doFilter(request, timedResponse);
+            } finally {
+                timings.exit(RequestTimings.Phase.AUTH);   // 보안 필터 체인에서 응답한 경우
+                timedResponse.finish();
+            }
+
+            if (timings.totalNanos() >= this.logThresholdNanos) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                log.warn("Slow request method={} uri={} status={} {}", request.getMethod(),
+                        pattern != null ? pattern : request.getRequestURI(), response.getStatus(), timings.toLogFields());
+            }
+        } finally {
+            RequestTimings.close();
+        }
+    }
+
+    /**
+     * 보안 필터 체인 바로 뒤에서 auth 단계를 끝낸다.
+     */
+    static class SecurityPassed extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            RequestTimings.end(RequestTimings.Phase.AUTH);
+            filterChain.doFilter(request, response);
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+package me.hycho.demorestapi.configs;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * 응답 본문을 limit까지 버퍼에 담아서 본문을 다 쓴 뒤에 Server-Timing 헤더를 붙인다.
+ * 본문이 limit을 넘으면 (내보내기 같은 스트리밍 응답) 그때까지의 시간으로 헤더를 붙이고 바로 내보낸다.
+ */
+class ServerTimingResponse extends HttpServletResponseWrapper {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final RequestTimings timings;
+
+    private final int limit;
+
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+
+    private boolean headerWritten;
+
+    private ServletOutputStream outputStream;
+
+    private PrintWriter writer;
+
+    ServerTimingResponse(HttpServletResponse response, RequestTimings timings, int limit) {
+        super(response);
+        this.timings = timings;
+        this.limit = limit;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (this.writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+        if (this.outputStream == null) {
+            this.outputStream = new BufferingOutputStream();
+        }
+        return this.outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (this.writer == null) {
+            if (this.outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called");
+            }
+            this.writer = new PrintWriter(new OutputStreamWriter(new BufferingOutputStream(), getCharacterEncoding()));
+        }
+        return this.writer;
+    }
+
+    /**
+     * 버퍼에 담는 동안에는 내보내지 않는다. (finish에서 헤더와 함께 내보낸다)
+     */
+    @Override
+    public void flushBuffer() throws IOException {
+        if (this.headerWritten) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (!this.headerWritten) {
+            this.buffer.reset();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        if (!this.headerWritten) {
+            this.buffer.reset();
+        }
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        discard();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        discard();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        discard();
+        super.sendRedirect(location);
+    }
+
+    /**
+     * 헤더를 붙이고 버퍼에 남은 본문을 내보낸다. (필터에서 요청 처리가 끝난 뒤 호출)
+     */
+    void finish() throws IOException {
+        if (this.writer != null) {
+            this.writer.flush();
+        }
+        commit();
+    }
+
+    private void discard() {
+        if (!this.headerWritten) {
+            this.buffer = null;
+            writeHeader();
+        }
+    }
+
+    private void commit() throws IOException {
+        if (this.headerWritten) {
+            return;
+        }
+        writeHeader();
+        if (this.buffer.size() > 0) {
+            this.buffer.writeTo(super.getOutputStream());
+        }
+        this.buffer = null;
+    }
+
+    private void writeHeader() {
+        this.headerWritten = true;
+        if (!isCommitted()) {
+            addHeader(SERVER_TIMING, this.timings.toHeader());
+        }
+    }
+
+    private class BufferingOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            if (headerWritten) {
+                ServerTimingResponse.super.getOutputStream().write(b);
+                return;
+            }
+            buffer.write(b);
+            if (buffer.size() > limit) {
+                commit();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (headerWritten) {
+                ServerTimingResponse.super.getOutputStream().write(b, off, len);
+                return;
+            }
+            buffer.write(b, off, len);
+            if (buffer.size() > limit) {
+                commit();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (headerWritten) {
+                ServerTimingResponse.super.getOutputStream().flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            if (!headerWritten) {
+                return true;    // 버퍼에 담는 동안에는 항상 쓸 수 있다
+            }
+            try {
+                return delegate().isReady();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * non-blocking 쓰기로 바꾸면 더 이상 버퍼에 담지 않는다.
+         * 그때까지의 시간으로 헤더를 붙이고 버퍼를 내보낸 뒤 감싼 응답의 스트림에 리스너를 넘긴다.
+         */
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            try {
+                commit();
+                delegate().setWriteListener(writeListener);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private ServletOutputStream delegate() throws IOException {
+            return ServerTimingResponse.super.getOutputStream();
+        }
+    }
+
+}
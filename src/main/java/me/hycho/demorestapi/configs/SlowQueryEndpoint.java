@@ -0,0 +1,39 @@
+package me.hycho.demorestapi.configs;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * /actuator/slowqueries
+ * GET: 가장 느린 SQL과 fingerprint별 통계 (전체 실행 시간이 긴 순서, limit 기본값 50), DELETE: 초기화
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final SqlStatementObserver observer;
+
+    public SlowQueryEndpoint(SqlStatementObserver observer) {
+        this.observer = observer;
+    }
+
+    @ReadOperation
+    public Map<String, Object> slowQueries(@Nullable Integer limit) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("slowest", this.observer.slowest());
+        result.put("fingerprints", this.observer.fingerprints(limit != null ? limit : DEFAULT_LIMIT));
+        return result;
+    }
+
+    @DeleteOperation
+    public void clear() {
+        this.observer.clear();
+    }
+
+}
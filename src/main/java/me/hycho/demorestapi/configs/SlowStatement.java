@@ -0,0 +1,41 @@
+package me.hycho.demorestapi.configs;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 느린 SQL 한 건 (SqlStatementObserver)
+ */
+@Getter
+@AllArgsConstructor
+public class SlowStatement {
+
+    private final String sql;
+
+    private final String fingerprint;
+
+    @JsonIgnore
+    private final long nanos;
+
+    /**
+     * 변경/조회한 행 수 (알 수 없으면 -1)
+     */
+    private final long rows;
+
+    /**
+     * 실행한 핸들러 메소드 (요청 밖이면 스레드 이름)
+     */
+    private final String caller;
+
+    private final Instant executedAt;
+
+    public double getDurationMs() {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+}
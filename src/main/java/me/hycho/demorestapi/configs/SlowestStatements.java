@@ -0,0 +1,94 @@
+package me.hycho.demorestapi.configs;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 가장 느린 SQL N개 (잠금 없이 CAS로 교체)
+ * 가득 찬 뒤에는 가장 빠른 항목의 시간(threshold)보다 빠른 실행은 volatile 읽기 한 번으로 버린다.
+ * 동시에 교체하면 threshold가 잠시 낮게 보일 수 있지만, 다음 교체 때 다시 맞춰진다.
+ */
+final class SlowestStatements {
+
+    private final AtomicReferenceArray<SlowStatement> slots;
+
+    private volatile long threshold;
+
+    SlowestStatements(int capacity) {
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * 들어갈 가능성이 있는 시간인지 (가득 차기 전에는 항상 true)
+     */
+    boolean accepts(long nanos) {
+        return nanos > this.threshold;
+    }
+
+    void offer(SlowStatement statement) {
+        retry:
+        while (accepts(statement.getNanos())) {
+            int minIndex = -1;
+            SlowStatement min = null;
+            for (int i = 0; i < this.slots.length(); i++) {
+                SlowStatement current = this.slots.get(i);
+                if (current == null) {
+                    if (this.slots.compareAndSet(i, null, statement)) {
+                        updateThreshold();
+                        return;
+                    }
+                    continue retry;
+                }
+                if (min == null || current.getNanos() < min.getNanos()) {
+                    min = current;
+                    minIndex = i;
+                }
+            }
+            if (min == null || statement.getNanos() <= min.getNanos()) {
+                return;
+            }
+            if (this.slots.compareAndSet(minIndex, min, statement)) {
+                updateThreshold();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 느린 순서로 정렬한 목록
+     */
+    List<SlowStatement> snapshot() {
+        List<SlowStatement> statements = new ArrayList<>(this.slots.length());
+        for (int i = 0; i < this.slots.length(); i++) {
+            SlowStatement statement = this.slots.get(i);
+            if (statement != null) {
+                statements.add(statement);
+            }
+        }
+        statements.sort(Comparator.comparingLong(SlowStatement::getNanos).reversed());
+        return statements;
+    }
+
+    void clear() {
+        for (int i = 0; i < this.slots.length(); i++) {
+            this.slots.set(i, null);
+        }
+        this.threshold = 0;
+    }
+
+    private void updateThreshold() {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < this.slots.length(); i++) {
+            SlowStatement statement = this.slots.get(i);
+            if (statement == null) {
+                this.threshold = 0;
+                return;
+            }
+            min = Math.min(min, statement.getNanos());
+        }
+        this.threshold = min;
+    }
+
+}
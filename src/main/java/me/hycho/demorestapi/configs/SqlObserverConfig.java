@@ -0,0 +1,44 @@
+package me.hycho.demorestapi.configs;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import me.hycho.demorestapi.common.AppProperties;
+
+/**
+ * SQL 관찰 설정
+ * DataSource를 TimingDataSource로 감싸서 실행한 SQL을 SqlStatementObserver에 전달하고, /actuator/slowqueries로 조회한다.
+ */
+@Configuration
+public class SqlObserverConfig {
+
+    @Bean
+    public SqlStatementObserver sqlStatementObserver(AppProperties appProperties) {
+        return new SqlStatementObserver(appProperties);
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SqlStatementObserver sqlStatementObserver) {
+        return new SlowQueryEndpoint(sqlStatementObserver);
+    }
+
+    @Bean
+    public static BeanPostProcessor timingDataSourcePostProcessor(ObjectProvider<SqlStatementObserver> sqlStatementObserver) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof DataSource && !(bean instanceof TimingDataSource)) {
+                    return new TimingDataSource((DataSource) bean, sqlStatementObserver.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+}
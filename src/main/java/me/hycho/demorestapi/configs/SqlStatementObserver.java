@@ -0,0 +1,331 @@
+package me.hycho.demorestapi.configs;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import me.hycho.demorestapi.common.AppProperties;
+
+/**
+ * 실행한 SQL 관찰 (TimingDataSource에서 호출)
+ * - 가장 느린 SQL N개 (my-app.slow-query-capacity)
+ * - 정규화한 SQL(fingerprint)별 실행 횟수, 시간, 행 수
+ * - 표본 로그: my-app.sql-log-sample-rate 비율의 SQL만 바인드 값과 함께 로그로 남긴다.
+ *   (org.hibernate.SQL=DEBUG, BasicBinder=TRACE처럼 모든 SQL을 요청 스레드에서 로그로 쓰지 않는다)
+ *   이메일, 비밀번호, 토큰 컬럼과 이메일/비밀번호 해시처럼 보이는 값은 가린다.
+ * 조회 결과는 /actuator/slowqueries
+ */
+@Slf4j
+public class SqlStatementObserver {
+
+    /**
+     * fingerprint 종류가 이보다 많으면 나머지는 하나로 모은다.
+     */
+    static final int MAX_FINGERPRINTS = 1000;
+
+    static final String OTHER_FINGERPRINT = "(other)";
+
+    private static final int MAX_CACHED_FINGERPRINTS = 10_000;
+
+    private static final int MAX_BIND_LENGTH = 100;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+    private static final String MASK = "****";
+
+    /**
+     * 바인드 값을 로그에 남기지 않는 컬럼 (account, oauth 토큰 저장소)
+     */
+    private static final Set<String> SENSITIVE_COLUMNS = Set.of("email", "password", "user_name", "token_id", "refresh_token");
+
+    private static final Pattern INSERT = Pattern.compile("(?is)^\\s*insert\\s+into\\s+\\S+\\s*\\(([^)]*)\\)\\s*values\\s*\\(([^)]*)\\)");
+
+    private static final Pattern SENSITIVE_VALUE = Pattern.compile("[^@\\s]+@[^@\\s]+|^\\{\\w+}|^\\$2[aby]?\\$");
+
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private final SlowestStatements slowest;
+
+    private final double sampleRate;
+
+    /**
+     * SQL -> fingerprint (Hibernate는 같은 SQL 문자열을 재사용하므로 대부분 여기서 찾는다)
+     */
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    private final Map<String, FingerprintStats> stats = new ConcurrentHashMap<>();
+
+    public SqlStatementObserver(AppProperties appProperties) {
+        this.slowest = new SlowestStatements(appProperties.getSlowQueryCapacity());
+        this.sampleRate = appProperties.getSqlLogSampleRate();
+    }
+
+    /**
+     * 이 SQL을 바인드 값과 함께 로그로 남길지 (Statement를 만들 때 정한다)
+     */
+    boolean sample() {
+        return this.sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < this.sampleRate;
+    }
+
+    /**
+     * @param sql 실행한 SQL
+     * @param nanos execute 시간 (ResultSet을 읽는 시간은 포함하지 않는다)
+     * @param rows 변경/조회한 행 수 (알 수 없으면 -1)
+     * @param binds 표본으로 정한 경우 바인드 값 (아니면 null)
+     */
+    void record(String sql, long nanos, long rows, Map<Integer, Object> binds) {
+        if (sql == null) {
+            return;
+        }
+        String fingerprint = fingerprint(sql);
+        statsOf(fingerprint).record(nanos, rows);
+
+        boolean slow = this.slowest.accepts(nanos);
+        if (!slow && binds == null) {
+            return;
+        }
+        String caller = caller();
+        if (slow) {
+            this.slowest.offer(new SlowStatement(sql, fingerprint, nanos, rows, caller, Instant.now()));
+        }
+        if (binds != null) {
+            log.info("Sampled SQL duration_ms={} rows={} caller={} sql=[{}] binds={}",
+                    TimeUnit.NANOSECONDS.toMicros(nanos) / 1000.0, rows, caller, WHITESPACE.matcher(sql).replaceAll(" ").trim(),
+                    format(sql, binds));
+        }
+    }
+
+    public List<SlowStatement> slowest() {
+        return this.slowest.snapshot();
+    }
+
+    /**
+     * 전체 실행 시간이 긴 순서로 limit개 (limit이 0 이하면 빈 목록)
+     */
+    public List<FingerprintSummary> fingerprints(int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<FingerprintSummary> summaries = new ArrayList<>(this.stats.size());
+        this.stats.forEach((fingerprint, stats) -> summaries.add(stats.summary(fingerprint)));
+        summaries.sort(Comparator.comparingDouble(FingerprintSummary::getTotalMs).reversed());
+        return summaries.size() > limit ? summaries.subList(0, limit) : summaries;
+    }
+
+    public void clear() {
+        this.slowest.clear();
+        this.stats.clear();
+    }
+
+    String fingerprint(String sql) {
+        String fingerprint = this.fingerprints.get(sql);
+        if (fingerprint == null) {
+            fingerprint = normalize(sql);
+            if (this.fingerprints.size() < MAX_CACHED_FINGERPRINTS) {
+                this.fingerprints.put(sql, fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * 공백을 한 칸으로 줄이고, 문자열/숫자 값은 ?로, IN 목록은 (?...)로 바꾼다.
+     */
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return PARAMETER_LIST.matcher(normalized).replaceAll("(?...)");
+    }
+
+    private FingerprintStats statsOf(String fingerprint) {
+        FingerprintStats stats = this.stats.get(fingerprint);
+        if (stats != null) {
+            return stats;
+        }
+        if (this.stats.size() >= MAX_FINGERPRINTS - 1) {  // (other) 자리를 남긴다.
+            fingerprint = OTHER_FINGERPRINT;
+        }
+        return this.stats.computeIfAbsent(fingerprint, key -> new FingerprintStats());
+    }
+
+    /**
+     * 요청 안에서는 핸들러 메소드 (없으면 요청 메소드와 URI), 요청 밖에서는 스레드 이름
+     */
+    private static String caller() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+            Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+            if (handler instanceof HandlerMethod) {
+                return AllocationMetricsFilter.handlerName((HandlerMethod) handler);
+            }
+            if (request.getMethod() != null && request.getRequestURI() != null && !request.getRequestURI().isEmpty()) {
+                return request.getMethod() + " " + request.getRequestURI();
+            }
+        }
+        return Thread.currentThread().getName();
+    }
+
+    /**
+     * 바인드 값을 [순번=값, ...]으로 (민감한 컬럼, 값은 가리고 긴 값은 자른다)
+     */
+    static String format(String sql, Map<Integer, Object> binds) {
+        Set<Integer> sensitive = sensitiveParameters(sql);
+        StringBuilder builder = new StringBuilder("[");
+        binds.forEach((index, value) -> {
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            builder.append(index).append('=');
+            if (value instanceof byte[]) {
+                builder.append('<').append(((byte[]) value).length).append(" bytes>");
+            } else if (sensitive.contains(index) || (value instanceof String && SENSITIVE_VALUE.matcher((String) value).find())) {
+                builder.append(MASK);
+            } else {
+                String text = String.valueOf(value);
+                builder.append(text.length() > MAX_BIND_LENGTH ? text.substring(0, MAX_BIND_LENGTH) + "..." : text);
+            }
+        });
+        return builder.append(']').toString();
+    }
+
+    /**
+     * SENSITIVE_COLUMNS에 바인드하는 파라미터 순번 (1부터)
+     * insert는 컬럼 목록과 values 목록을 짝짓고, 나머지는 ? 앞의 컬럼 이름을 본다. (a.email=?, email in (?, ?))
+     */
+    static Set<Integer> sensitiveParameters(String sql) {
+        Set<Integer> sensitive = new HashSet<>();
+        Matcher insert = INSERT.matcher(sql);
+        if (insert.find()) {
+            String[] columns = insert.group(1).split(",");
+            String[] values = insert.group(2).split(",");
+            int index = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (values[i].trim().equals("?")) {
+                    index++;
+                    if (i < columns.length && isSensitive(columns[i].trim())) {
+                        sensitive.add(index);
+                    }
+                }
+            }
+            return sensitive;
+        }
+        int index = 0;
+        for (int p = sql.indexOf('?'); p >= 0; p = sql.indexOf('?', p + 1)) {
+            index++;
+            if (isSensitive(columnBefore(sql, p))) {
+                sensitive.add(index);
+            }
+        }
+        return sensitive;
+    }
+
+    /**
+     * position의 ? 앞에서 연산자, 괄호, 다른 ?, like/in/not을 건너뛴 첫 이름 (별칭은 뺀다)
+     */
+    private static String columnBefore(String sql, int position) {
+        int end = position;
+        while (true) {
+            while (end > 0 && " \t\r\n,(?=<>!".indexOf(sql.charAt(end - 1)) >= 0) {
+                end--;
+            }
+            int start = end;
+            while (start > 0 && (Character.isLetterOrDigit(sql.charAt(start - 1)) || sql.charAt(start - 1) == '_' || sql.charAt(start - 1) == '.')) {
+                start--;
+            }
+            String word = sql.substring(start, end).toLowerCase(Locale.ROOT);
+            if (start == end || !(word.equals("like") || word.equals("in") || word.equals("not"))) {
+                return word.substring(word.lastIndexOf('.') + 1);
+            }
+            end = start;
+        }
+    }
+
+    private static boolean isSensitive(String column) {
+        return SENSITIVE_COLUMNS.contains(column.toLowerCase(Locale.ROOT));
+    }
+
+    private static class FingerprintStats {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private final LongAdder rows = new LongAdder();
+
+        void record(long nanos, long rows) {
+            this.count.increment();
+            this.totalNanos.add(nanos);
+            this.maxNanos.accumulate(nanos);
+            if (rows > 0) {
+                this.rows.add(rows);
+            }
+        }
+
+        FingerprintSummary summary(String fingerprint) {
+            long count = this.count.sum();
+            double totalMs = this.totalNanos.sum() / 1_000_000.0;
+            return new FingerprintSummary(fingerprint, count, totalMs, count == 0 ? 0 : totalMs / count,
+                    this.maxNanos.get() / 1_000_000.0, this.rows.sum());
+        }
+    }
+
+    /**
+     * fingerprint별 누적 통계
+     */
+    @Getter
+    public static class FingerprintSummary {
+
+        private final String fingerprint;
+
+        private final long count;
+
+        private final double totalMs;
+
+        private final double meanMs;
+
+        private final double maxMs;
+
+        private final long rows;
+
+        FingerprintSummary(String fingerprint, long count, double totalMs, double meanMs, double maxMs, long rows) {
+            this.fingerprint = fingerprint;
+            this.count = count;
+            this.totalMs = totalMs;
+            this.meanMs = meanMs;
+            this.maxMs = maxMs;
+            this.rows = rows;
+        }
+    }
+
+}
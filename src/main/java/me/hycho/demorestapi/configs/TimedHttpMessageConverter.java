@@ -0,0 +1,112 @@
+package me.hycho.demorestapi.configs;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 응답 본문 직렬화 시간 (http.server.serialization, 응답 객체 타입별)
+ * JSON/HAL 변환기를 감싸서 write만 측정하고 (Server-Timing의 write 단계) 나머지는 그대로 위임한다.
+ */
+public class TimedHttpMessageConverter implements GenericHttpMessageConverter<Object> {
+
+    private final GenericHttpMessageConverter<Object> delegate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Class<?>, Timer> timers = new ConcurrentHashMap<>();
+
+    public TimedHttpMessageConverter(GenericHttpMessageConverter<Object> delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public GenericHttpMessageConverter<Object> getDelegate() {
+        return this.delegate;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return this.delegate.canRead(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return this.delegate.canRead(type, contextClass, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return this.delegate.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return this.delegate.canWrite(type, clazz, mediaType);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return this.delegate.getSupportedMediaTypes();
+    }
+
+    @Override
+    public Object read(Class<? extends Object> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return this.delegate.read(clazz, inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return this.delegate.read(type, contextClass, inputMessage);
+    }
+
+    @Override
+    public void write(Object t, MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestTimings.begin(RequestTimings.Phase.WRITE);
+        long started = System.nanoTime();
+        try {
+            this.delegate.write(t, contentType, outputMessage);
+        } finally {
+            record(t, started);
+            RequestTimings.end(RequestTimings.Phase.WRITE);
+        }
+    }
+
+    @Override
+    public void write(Object t, Type type, MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestTimings.begin(RequestTimings.Phase.WRITE);
+        long started = System.nanoTime();
+        try {
+            this.delegate.write(t, type, contentType, outputMessage);
+        } finally {
+            record(t, started);
+            RequestTimings.end(RequestTimings.Phase.WRITE);
+        }
+    }
+
+    private void record(Object body, long started) {
+        this.timers.computeIfAbsent(body.getClass(), type -> Timer.builder("http.server.serialization")
+                        .description("Time spent writing response bodies")
+                        .tag("type", type.getSimpleName())
+                        .register(this.meterRegistry))
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+}
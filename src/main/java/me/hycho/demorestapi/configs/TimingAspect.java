@@ -0,0 +1,103 @@
+package me.hycho.demorestapi.configs;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 요청 처리 구간별 실행 시간 (Timer)
+ * - repository.invocations: Repository 메소드 (repository, method)
+ * - event.validation: EventValidator.validate
+ * - event.mapping: EventMapper 메소드 (method)
+ * - oauth.token.store: TokenStore 메소드 (store, method)
+ * Server-Timing을 켠 경우 저장소를 제외한 구간은 요청의 단계 시간(RequestTimings)에도 더한다. (저장소는 db 단계에서 SQL 시간으로 측정)
+ * 태그 값은 클래스/메소드 이름뿐이므로 종류가 코드에 있는 개수로 제한된다.
+ * 백분위수(p50/p99/p999)는 application.properties의 management.metrics.distribution.* 에서 설정한다.
+ */
+@Aspect
+@Component
+public class TimingAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 대상 클래스 -> 메소드 -> Timer (호출마다 Timer를 찾지 않도록 보관)
+     */
+    private final Map<Class<?>, Map<Method, Timer>> timers = new ConcurrentHashMap<>();
+
+    public TimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "repository.invocations", null, target -> Tags.of("repository", repositoryName(target)));
+    }
+
+    @Around("execution(* me.hycho.demorestapi.events.EventValidator.validate(..))")
+    public Object timeValidation(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "event.validation", RequestTimings.Phase.VALIDATION, target -> Tags.empty());
+    }
+
+    @Around("execution(public * me.hycho.demorestapi.events.EventMapper.*(..))")
+    public Object timeMapping(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "event.mapping", RequestTimings.Phase.MAPPING, target -> Tags.empty());
+    }
+
+    @Around("execution(* org.springframework.security.oauth2.provider.token.TokenStore+.*(..))")
+    public Object timeTokenStore(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "oauth.token.store", RequestTimings.Phase.TOKEN, target -> Tags.of("store", target.getSimpleName()));
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String name, RequestTimings.Phase phase,
+                        Function<Class<?>, Tags> tags) throws Throwable {
+        Class<?> target = joinPoint.getTarget().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer timer = this.timers
+                .computeIfAbsent(target, type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, m -> Timer.builder(name)
+                        .tags(tags.apply(target))
+                        .tag("method", m.getName())
+                        .register(this.meterRegistry));
+
+        RequestTimings timings = phase != null ? RequestTimings.current() : null;
+        if (timings != null) {
+            timings.enter(phase);
+        }
+        long started = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            if (timings != null) {
+                timings.exit(phase);
+            }
+        }
+    }
+
+    /**
+     * Spring Data가 만든 프록시에서 저장소 인터페이스 이름 (EventRepository 등)
+     */
+    private static String repositoryName(Class<?> target) {
+        for (Class<?> type : target.getInterfaces()) {
+            if (Repository.class.isAssignableFrom(type)) {
+                return type.getSimpleName();
+            }
+        }
+        return target.getSimpleName();
+    }
+
+}
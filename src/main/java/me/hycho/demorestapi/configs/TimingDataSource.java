@@ -0,0 +1,194 @@
+package me.hycho.demorestapi.configs;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * 실행한 SQL을 SqlStatementObserver에 전달하고, Server-Timing을 켠 경우 요청의 db 단계에 더하는 DataSource
+ * Statement의 execute* 호출만 측정하므로 ResultSet을 읽는 시간은 포함하지 않는다.
+ * 조회 결과의 행 수는 ResultSet을 닫을 때(또는 Statement를 닫거나 다시 실행할 때) 센 만큼 기록한다.
+ */
+class TimingDataSource extends DelegatingDataSource {
+
+    private final SqlStatementObserver observer;
+
+    TimingDataSource(DataSource targetDataSource, SqlStatementObserver observer) {
+        super(targetDataSource);
+        this.observer = observer;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private Connection connection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(TimingDataSource.class.getClassLoader(), new Class<?>[] { Connection.class },
+                new Handler(connection) {
+                    @Override
+                    Object invoke(Method method, Object[] args) throws Throwable {
+                        Object result = method.invoke(this.target, args);
+                        if (result instanceof Statement) {
+                            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                            return statement((Statement) result, method.getReturnType(), sql);
+                        }
+                        return result;
+                    }
+                });
+    }
+
+    private Statement statement(Statement statement, Class<?> type, String sql) {
+        Class<?> statementType = type == CallableStatement.class || type == PreparedStatement.class ? type : Statement.class;
+        return (Statement) Proxy.newProxyInstance(TimingDataSource.class.getClassLoader(), new Class<?>[] { statementType },
+                new StatementHandler(statement, sql, this.observer.sample() ? new TreeMap<>() : null));
+    }
+
+    private class StatementHandler extends Handler {
+
+        private final String preparedSql;
+
+        private final Map<Integer, Object> binds;   // 표본으로 정한 Statement만
+
+        private String batchSql;
+
+        private String querySql;
+
+        private long queryNanos;
+
+        private long queryRows = -1;
+
+        StatementHandler(Statement target, String preparedSql, Map<Integer, Object> binds) {
+            super(target);
+            this.preparedSql = preparedSql;
+            this.binds = binds;
+        }
+
+        @Override
+        Object invoke(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (this.binds != null && name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                this.binds.put((Integer) args[0], args[1]);
+            } else if (name.equals("addBatch") && args != null && args.length == 1) {
+                this.batchSql = (String) args[0];
+            } else if (name.equals("close")) {
+                recordQuery();
+            }
+            return method.invoke(this.target, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            recordQuery();
+            String sql = this.preparedSql != null ? this.preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : this.batchSql;
+
+            Object result = null;
+            RequestTimings.begin(RequestTimings.Phase.DB);
+            long started = System.nanoTime();
+            try {
+                result = method.invoke(this.target, args);
+            } finally {
+                long nanos = System.nanoTime() - started;
+                RequestTimings.end(RequestTimings.Phase.DB);
+                if (result instanceof ResultSet) {
+                    this.querySql = sql;
+                    this.queryNanos = nanos;
+                    this.queryRows = 0;
+                } else {
+                    observer.record(sql, nanos, rows(result), this.binds);
+                }
+            }
+            if (result instanceof ResultSet) {
+                return resultSet((ResultSet) result);
+            }
+            return result;
+        }
+
+        private ResultSet resultSet(ResultSet resultSet) {
+            return (ResultSet) Proxy.newProxyInstance(TimingDataSource.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                    new Handler(resultSet) {
+                        @Override
+                        Object invoke(Method method, Object[] args) throws Throwable {
+                            Object result = method.invoke(this.target, args);
+                            String name = method.getName();
+                            if (name.equals("next") && Boolean.TRUE.equals(result) && querySql != null) {
+                                queryRows++;
+                            } else if (name.equals("close")) {
+                                recordQuery();
+                            }
+                            return result;
+                        }
+                    });
+        }
+
+        private void recordQuery() {
+            if (this.querySql != null) {
+                observer.record(this.querySql, this.queryNanos, this.queryRows, this.binds);
+                this.querySql = null;
+            }
+        }
+
+        private long rows(Object result) {
+            if (result instanceof Integer || result instanceof Long) {
+                return ((Number) result).longValue();
+            }
+            if (result instanceof int[]) {
+                long rows = 0;
+                for (int count : (int[]) result) {
+                    rows += Math.max(count, 0);
+                }
+                return rows;
+            }
+            return -1;
+        }
+    }
+
+    private abstract static class Handler implements InvocationHandler {
+
+        final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    try {
+                        return invoke(method, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+            }
+        }
+
+        abstract Object invoke(Method method, Object[] args) throws Throwable;
+    }
+
+}
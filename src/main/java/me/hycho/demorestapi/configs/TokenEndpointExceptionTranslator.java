@@ -0,0 +1,48 @@
+package me.hycho.demorestapi.configs;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.common.exceptions.OAuth2Exception;
+import org.springframework.security.oauth2.provider.error.DefaultWebResponseExceptionTranslator;
+
+import me.hycho.demorestapi.accounts.PasswordEncoderBusyException;
+
+/**
+ * 토큰 발급 중 비밀번호 해시 대기열이 가득 찬 경우 500 대신 503(temporarily_unavailable) 응답
+ */
+public class TokenEndpointExceptionTranslator extends DefaultWebResponseExceptionTranslator {
+
+    @Override
+    public ResponseEntity<OAuth2Exception> translate(Exception e) throws Exception {
+        if (!PasswordEncoderBusyException.isCause(e)) {
+            return super.translate(e);
+        }
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, PasswordEncoderBusyFilter.RETRY_AFTER_SECONDS)
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .body(new TemporarilyUnavailableException(e.getMessage()));
+    }
+
+    private static class TemporarilyUnavailableException extends OAuth2Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        TemporarilyUnavailableException(String message) {
+            super(message);
+        }
+
+        @Override
+        public String getOAuth2ErrorCode() {
+            return "temporarily_unavailable";
+        }
+
+        @Override
+        public int getHttpErrorCode() {
+            return HttpStatus.SERVICE_UNAVAILABLE.value();
+        }
+
+    }
+
+}
@@ -0,0 +1,41 @@
+package me.hycho.demorestapi.configs;
+
+import java.util.function.Function;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.lang.Nullable;
+
+/**
+ * 버전(@Version)이 낮아지지 않는 캐시
+ * 저장 전에 DB에서 읽은 조회가 저장 뒤에 캐시를 채워도, 이미 들어 있는 더 새 버전을 덮어쓰지 않는다.
+ */
+class VersionedCaffeineCache extends CaffeineCache {
+
+    private final Function<Object, Integer> version;
+
+    VersionedCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                           Function<Object, Integer> version) {
+        super(name, cache);
+        this.version = version;
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        if (value == null) {
+            super.put(key, null);
+            return;
+        }
+        getNativeCache().asMap().merge(key, value, (current, candidate) -> isOlder(candidate, current) ? current : candidate);
+    }
+
+    private boolean isOlder(Object candidate, Object current) {
+        if (current == NullValue.INSTANCE) {
+            return false;
+        }
+        Integer candidateVersion = this.version.apply(candidate);
+        Integer currentVersion = this.version.apply(current);
+        return candidateVersion != null && currentVersion != null && candidateVersion < currentVersion;
+    }
+
+}
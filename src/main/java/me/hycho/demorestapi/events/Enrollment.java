@@ -0,0 +1,44 @@
+package me.hycho.demorestapi.events;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import me.hycho.demorestapi.accounts.Account;
+
+/**
+ * 이벤트 참가 신청
+ * 신청 가능 여부는 EnrollmentService가 메모리에서 판단하고, 이 엔티티는 나중에 모아서 저장한다.
+ */
+@Getter @Setter @Builder
+@AllArgsConstructor @NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_enrollment_event_account", columnNames = { "event_id", "account_id" }))
+public class Enrollment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollment_seq")
+    @SequenceGenerator(name = "enrollment_seq", sequenceName = "enrollment_seq", allocationSize = 50)
+    private Integer id;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private Event event;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private Account account;
+    private LocalDateTime enrolledDateTime;
+
+}
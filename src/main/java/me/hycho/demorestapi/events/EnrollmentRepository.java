@@ -0,0 +1,18 @@
+package me.hycho.demorestapi.events;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer> {
+
+    /**
+     * 이벤트에 참가 신청한 계정 id (신청 현황을 메모리로 불러올 때 사용)
+     */
+    @Query("select e.account.id from Enrollment e where e.event.id = :eventId")
+    List<Integer> findAccountIdsByEventId(Integer eventId);
+
+    long countByEventId(Integer eventId);
+
+}
@@ -0,0 +1,5 @@
+package me.hycho.demorestapi.events;
+
+public enum EnrollmentResult {
+    ACCEPTED, ALREADY_ENROLLED, FULL, CLOSED
+}
@@ -0,0 +1,233 @@
+package me.hycho.demorestapi.events;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import me.hycho.demorestapi.accounts.Account;
+
+/**
+ * 이벤트 참가 신청
+ * 신청 가능 여부는 이벤트별 메모리 현황(EventSeats)에서 바로 판단하고, 받은 신청은 대기열에 넣어서
+ * 별도 스레드가 모아서 저장한다. (요청 처리 중에는 DB 행 잠금이나 쓰기가 없다)
+ * 이벤트별 현황은 처음 신청할 때 DB에 저장된 신청으로 만들기 때문에 재시작하면 저장된 신청 기준으로 다시 맞춰진다.
+ * 현황을 서버 메모리에 두므로 서버 한 대에서 실행하는 것을 전제로 한다.
+ */
+@Slf4j
+@Service
+public class EnrollmentService {
+
+    private static final int WRITE_BATCH_SIZE = 500;
+
+    private final EnrollmentRepository enrollmentRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<Integer, EventSeats> seats = new ConcurrentHashMap<>();
+
+    private final BlockingQueue<PendingEnrollment> pending = new LinkedBlockingQueue<>();
+
+    private final ReentrantLock writeLock = new ReentrantLock(true);    // 대기열에서 꺼낸 신청은 저장을 마칠 때까지 잠금 안에 있다.
+
+    private final Counter accepted;
+
+    private final Counter rejected;
+
+    private final DistributionSummary writeBatch;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Thread writer;
+
+    private volatile boolean running = true;
+
+    public EnrollmentService(EnrollmentRepository enrollmentRepository, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.accepted = Counter.builder("event.enrollments").tag("result", "accepted").register(meterRegistry);
+        this.rejected = Counter.builder("event.enrollments").tag("result", "rejected").register(meterRegistry);
+        this.writeBatch = DistributionSummary.builder("event.enrollments.write.batch")
+                .description("Enrollments saved by one write")
+                .register(meterRegistry);
+        Gauge.builder("event.enrollments.pending", this.pending, BlockingQueue::size)
+                .description("Accepted enrollments waiting to be saved")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        this.writer = new Thread(this::writeLoop, "enrollment-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * 대기 중인 신청을 모두 저장하고 종료
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        this.running = false;
+        this.writer.join(TimeUnit.SECONDS.toMillis(10));
+        flush();
+    }
+
+    /**
+     * 참가 신청 (등록 기간이 아니거나, 정원이 찼거나, 이미 신청한 계정이면 거절)
+     */
+    public EnrollmentResult enroll(Event event, Account account, LocalDateTime now) {
+        if (!isOpen(event, now)) {
+            this.rejected.increment();
+            return EnrollmentResult.CLOSED;
+        }
+
+        EventSeats eventSeats = seats(event);
+        EnrollmentResult result = eventSeats.enroll(account.getId());
+        if (result != EnrollmentResult.ACCEPTED) {
+            this.rejected.increment();
+            return result;
+        }
+
+        this.accepted.increment();
+        this.pending.add(new PendingEnrollment(event.getId(), account.getId(), now));
+        return result;
+    }
+
+    /**
+     * 남은 자리 수
+     */
+    public int remaining(Event event) {
+        return seats(event).remaining();
+    }
+
+    /**
+     * 이벤트의 정원이 바뀌면 현황에 반영 (현황을 아직 만들지 않았으면 만들 때 반영된다)
+     */
+    public void updateLimit(Event event) {
+        EventSeats eventSeats = this.seats.get(event.getId());
+        if (eventSeats != null) {
+            eventSeats.setLimit(event.getLimitOfEnrollment());
+        }
+    }
+
+    /**
+     * 대기 중인 신청을 지금 저장 (저장 스레드가 저장 중인 신청도 기다린다)
+     */
+    public void flush() {
+        List<PendingEnrollment> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+        this.writeLock.lock();
+        try {
+            while (this.pending.drainTo(batch, WRITE_BATCH_SIZE) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    private EventSeats seats(Event event) {
+        return this.seats.computeIfAbsent(event.getId(),
+                id -> new EventSeats(event.getLimitOfEnrollment(), this.enrollmentRepository.findAccountIdsByEventId(id)));
+    }
+
+    private boolean isOpen(Event event, LocalDateTime now) {
+        if (event.getEventStatus() == EventStatus.DRAFT || event.getEventStatus() == EventStatus.ENDED) {
+            return false;
+        }
+        return event.getBeginEnrollmentDateTime() != null && !now.isBefore(event.getBeginEnrollmentDateTime())
+                && event.getCloseEnrollmentDateTime() != null && now.isBefore(event.getCloseEnrollmentDateTime());
+    }
+
+    private void writeLoop() {
+        List<PendingEnrollment> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+        while (this.running) {
+            this.writeLock.lock();
+            try {
+                PendingEnrollment first = this.pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                this.pending.drainTo(batch, WRITE_BATCH_SIZE - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to save enrollments", e);
+            } finally {
+                batch.clear();
+                this.writeLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 한 트랜잭션으로 저장하고 (JDBC batch insert), 실패하면 한 건씩 다시 저장해서 저장하지 못한 신청만 취소한다.
+     * writeLock 안에서 호출한다.
+     */
+    private void write(List<PendingEnrollment> batch) {
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> batch.forEach(this::persist));
+            this.writeBatch.record(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to save {} enrollments in a batch, saving one by one", batch.size(), e);
+            for (PendingEnrollment enrollment : batch) {
+                try {
+                    this.transactionTemplate.executeWithoutResult(status -> persist(enrollment));
+                } catch (RuntimeException single) {
+                    log.error("Failed to save enrollment of account {} for event {}", enrollment.accountId, enrollment.eventId, single);
+                    EventSeats eventSeats = this.seats.get(enrollment.eventId);
+                    if (eventSeats != null) {
+                        eventSeats.release(enrollment.accountId);
+                    }
+                }
+            }
+        }
+    }
+
+    private void persist(PendingEnrollment enrollment) {
+        this.entityManager.persist(Enrollment.builder()
+                .event(this.entityManager.getReference(Event.class, enrollment.eventId))
+                .account(this.entityManager.getReference(Account.class, enrollment.accountId))
+                .enrolledDateTime(enrollment.enrolledDateTime)
+                .build());
+    }
+
+    private static class PendingEnrollment {
+
+        private final int eventId;
+
+        private final int accountId;
+
+        private final LocalDateTime enrolledDateTime;
+
+        PendingEnrollment(int eventId, int accountId, LocalDateTime enrolledDateTime) {
+            this.eventId = eventId;
+            this.accountId = accountId;
+            this.enrolledDateTime = enrolledDateTime;
+        }
+    }
+
+}
@@ -7,11 +7,20 @@ import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Version;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -25,9 +34,19 @@ import me.hycho.demorestapi.accounts.AccountSerializer;
 @AllArgsConstructor @NoArgsConstructor
 @EqualsAndHashCode(of = "id")
 @Entity
+@DynamicUpdate  // 바뀐 컬럼만 UPDATE
+@Table(indexes = {  // 목록 필터(EventFilter)와 정렬 순서(id, name, beginEventDateTime, basePrice + id)에 맞춘 인덱스
+    @Index(name = "idx_event_status_begin", columnList = "eventStatus, beginEventDateTime, id"),
+    @Index(name = "idx_event_begin", columnList = "beginEventDateTime, id"),   // free, offline은 선택도가 낮아 인덱스 없이 함께 거른다
+    @Index(name = "idx_event_base_price", columnList = "basePrice, id"),
+    @Index(name = "idx_event_manger", columnList = "manger_id, id"),
+    @Index(name = "idx_event_name", columnList = "name, id")
+})
 public class Event {
     
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50) // 50개씩 미리 할당 (pooled-lo)
     private Integer id;
     private String name;
     private String description;
@@ -46,6 +65,12 @@ public class Event {
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonSerialize(using = AccountSerializer.class)
     private Account manger;
+    @Version
+    @JsonIgnore
+    private Integer version; // ETag, 동시 수정 방지 (optimistic lock)
+    @UpdateTimestamp
+    @JsonIgnore
+    private LocalDateTime lastModifiedDateTime; // Last-Modified
     
 	public void update() {
         // Update free
@@ -0,0 +1,42 @@
+package me.hycho.demorestapi.events;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.core.Relation;
+import org.springframework.validation.Errors;
+
+import lombok.Getter;
+
+/**
+ * 이벤트 일괄 생성의 항목별 결과
+ * 생성된 항목은 id와 self 링크를, 검증에 실패한 항목은 errors를 가진다.
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Relation(collectionRelation = "results")
+public class EventBatchItem extends RepresentationModel<EventBatchItem> {
+
+    private final int index;
+
+    private final Integer id;
+
+    private final Errors errors;
+
+    private EventBatchItem(int index, Integer id, Errors errors) {
+        this.index = index;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public static EventBatchItem created(int index, Event event) {
+        EventBatchItem item = new EventBatchItem(index, event.getId(), null);
+        item.add(EventLinks.eventLink(event.getId()));
+        return item;
+    }
+
+    public static EventBatchItem rejected(int index, Errors errors) {
+        return new EventBatchItem(index, null, errors);
+    }
+
+}
@@ -0,0 +1,39 @@
+package me.hycho.demorestapi.events;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * 전체 이벤트의 projection을 id 순서로 BATCH_SIZE건씩 나눠 읽는다. (메모리 인덱스를 시작할 때 채우는 용도)
+ * OFFSET 대신 마지막으로 읽은 id 다음부터 조회하므로 뒤쪽 배치도 PK 인덱스로 바로 찾아간다.
+ */
+final class EventBatches {
+
+    static final int BATCH_SIZE = 1000;
+
+    private EventBatches() {
+    }
+
+    /**
+     * @param query 기준 id보다 큰 이벤트를 id 순으로 최대 pageable 크기만큼 조회 (예: findPeriodsByIdGreaterThan)
+     * @param id projection의 이벤트 id
+     * @param action 읽은 projection마다 실행
+     */
+    static <T> void forEach(BiFunction<Integer, Pageable, List<T>> query, Function<T, Integer> id, Consumer<T> action) {
+        int lastId = Integer.MIN_VALUE;
+        List<T> batch;
+        do {
+            batch = query.apply(lastId, PageRequest.of(0, BATCH_SIZE));
+            for (T item : batch) {
+                action.accept(item);
+                lastId = id.apply(item);
+            }
+        } while (batch.size() == BATCH_SIZE);
+    }
+
+}
@@ -1,46 +1,108 @@
 package me.hycho.demorestapi.events;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-
+import java.io.IOException;
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 
-import org.modelmapper.ModelMapper;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import lombok.RequiredArgsConstructor;
 import me.hycho.demorestapi.accounts.Account;
 import me.hycho.demorestapi.accounts.CurrentUser;
 import me.hycho.demorestapi.common.ErrorsResource;
+import me.hycho.demorestapi.common.KeysetCursor;
 
 @Controller
 @RequiredArgsConstructor
 @RequestMapping(value = "/api/events", produces = MediaTypes.HAL_JSON_VALUE)
 public class EventController {
 
+    private static final int MAX_KEYSET_SIZE = 2000;
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    /**
+     * 목록 조회에서 정렬할 수 있는 속성 (Event의 (속성, id) 인덱스로 정렬 없이 읽을 수 있는 속성만 허용)
+     */
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name", "beginEventDateTime", "basePrice");
+
+    static final String EXPORT_NDJSON_VALUE = "application/x-ndjson;charset=UTF-8";
+
+    static final String EXPORT_CSV_VALUE = "text/csv;charset=UTF-8";
+
+    static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    static final String ENROLLMENT_RESULT_HEADER = "Enrollment-Result";
+
     private final EventRepository eventRepository;
 
-    private final ModelMapper modelMapper;
+    private final EventMapper eventMapper;
 
     private final EventValidator eventValidator;
 
+    private final SmartValidator validator;
+
+    private final ObjectMapper objectMapper;
+
+    private final EventSliceAssembler eventSliceAssembler;
+
+    private final EventCountCache eventCountCache;
+
+    private final EventExportService eventExportService;
+
+    private final EventSearchIndex eventSearchIndex;
+
+    private final EventIntervalIndex eventIntervalIndex;
+
+    private final EventStatusScheduler eventStatusScheduler;
+
+    private final EnrollmentService enrollmentService;
+
     /**
      * 이벤트 생성
      * @param eventDto
@@ -63,75 +125,363 @@ public class EventController {
         }
         ;
 
-        Event event = modelMapper.map(eventDto, Event.class);
+        Event event = eventMapper.toEvent(eventDto);
         event.update();
         event.setManger(account);
         Event result = eventRepository.save(event);
-        WebMvcLinkBuilder selfLinkBuilder = linkTo(EventController.class).slash(result.getId());
-        URI createUri = selfLinkBuilder.toUri();
+        eventCountCache.invalidate();
+        indexEvent(result);
+        Link eventLink = EventLinks.eventLink(result.getId());
+        URI createUri = URI.create(eventLink.getHref());
         EventResource eventResource = new EventResource(event);
-        eventResource.add(linkTo(EventController.class).withRel("query-events"));
-        eventResource.add(selfLinkBuilder.withRel("update-event"));
-        eventResource.add(new Link("/docs/index.html#resources-events-create").withRel("profile"));
+        eventResource.add(EventLinks.eventsLink().withRel("query-events"));
+        eventResource.add(eventLink.withRel("update-event"));
+        eventResource.add(EventLinks.PROFILE_CREATE);
 
-        return ResponseEntity.created(createUri).body(eventResource);
+        return ResponseEntity.created(createUri)
+                .eTag(EventETags.of(result.getVersion()))
+                .body(eventResource);
+    }
+
+    /**
+     * 이벤트 일괄 생성
+     * 항목마다 검증해서 통과한 이벤트만 한 번에 저장한다. (JDBC batch insert)
+     * @param eventDtos
+     * @return 항목별 결과 (모두 생성되면 200, 일부만 생성되면 207, 모두 실패하면 400)
+     */
+    @PostMapping("/batch")
+    public ResponseEntity createEvents(@RequestBody List<EventDto> eventDtos, @CurrentUser Account account) {
+        if (eventDtos.isEmpty() || eventDtos.size() > MAX_BATCH_SIZE || eventDtos.contains(null)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        EventBatchItem[] results = new EventBatchItem[eventDtos.size()];
+        Map<Integer, Event> events = new LinkedHashMap<>();
+        for (int i = 0; i < eventDtos.size(); i++) {
+            EventDto eventDto = eventDtos.get(i);
+            Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+            validator.validate(eventDto, errors);
+            if (!errors.hasErrors()) {
+                eventValidator.validate(eventDto, errors);
+            }
+            if (errors.hasErrors()) {
+                results[i] = EventBatchItem.rejected(i, errors);
+                continue;
+            }
+
+            Event event = eventMapper.toEvent(eventDto);
+            event.update();
+            event.setManger(account);
+            events.put(i, event);
+        }
+
+        if (!events.isEmpty()) {
+            eventRepository.saveAll(events.values()).forEach(this::indexEvent);
+            eventCountCache.invalidate();
+        }
+        events.forEach((i, event) -> results[i] = EventBatchItem.created(i, event));
+
+        var resources = new CollectionModel<>(Arrays.asList(results));
+        resources.add(EventLinks.eventsLink().withRel("query-events"));
+        resources.add(EventLinks.PROFILE_CREATE_BATCH);
+
+        HttpStatus status = events.size() == results.length ? HttpStatus.OK
+                : events.isEmpty() ? HttpStatus.BAD_REQUEST : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(resources);
     }
 
     /**
      * 이벤트 목록 조회
+     * 엔티티 대신 EventSummary(projection)로 조회한다.
      * @param pageable
      * @param assembler
-     * @return
+     * @param count 전체 개수 조회 방식
+     *              exact: 매번 count 쿼리 실행 (기본값)
+     *              cached: 캐시된 전체 개수 사용 (my-app.event-count-cache-ttl, 필터가 있으면 exact와 같다)
+     *              none: 전체 개수 없이 next/prev 링크만 제공
+     * @param filter 검색 조건 (eventStatus, free, offline, minPrice, maxPrice, beginAfter, beginBefore, manager)
+     * @return 정렬 속성이 둘 이상이거나 SORTABLE_PROPERTIES에 없으면 400 응답
      */
     @GetMapping
-    public ResponseEntity queryEvents(Pageable pageable, PagedResourcesAssembler<Event> assembler, @CurrentUser Account account) {
-        Page<Event> page = this.eventRepository.findAll(pageable);
-        var pageResources = assembler.toModel(page, e -> new EventResource(e));    // page Resources 정보
-        pageResources.add(new Link("/docs/index.html#resources-events-list").withRel("profile"));
+    public ResponseEntity queryEvents(Pageable pageable, PagedResourcesAssembler<EventSummary> assembler, @CurrentUser Account account,
+                                      @RequestParam(defaultValue = "exact") String count, EventFilter filter) {
+        if (!isSortable(pageable.getSort())) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Specification<Event> spec = filter.toSpecification();
+        if ("cached".equals(count) && spec != null) {
+            count = "exact";    // 캐시된 전체 개수는 필터가 없는 경우의 개수
+        }
+
+        RepresentationModel<?> pageResources;
+        String etag;
+        switch (count) {
+            case "exact":
+                Page<EventSummary> page = this.eventRepository.findSummaries(spec, pageable);
+                pageResources = assembler.toModel(page, EventSummaryResource::new);    // page Resources 정보
+                etag = EventETags.ofSummaries(page, page.getNumber(), page.getSize(), page.getTotalElements());
+                break;
+            case "cached":
+                Slice<EventSummary> cachedSlice = this.eventRepository.findSummarySlice(null, pageable);
+                Page<EventSummary> cachedPage = new PageImpl<>(cachedSlice.getContent(), pageable, this.eventCountCache.count());
+                pageResources = assembler.toModel(cachedPage, EventSummaryResource::new);
+                etag = EventETags.ofSummaries(cachedPage, cachedPage.getNumber(), cachedPage.getSize(), cachedPage.getTotalElements());
+                break;
+            case "none":
+                Slice<EventSummary> slice = this.eventRepository.findSummarySlice(spec, pageable);
+                pageResources = this.eventSliceAssembler.toModel(slice);
+                etag = EventETags.ofSummaries(slice, slice.getNumber(), slice.getSize(), slice.hasNext() ? 1 : 0);
+                break;
+            default:
+                return ResponseEntity.badRequest().build();
+        }
+
+        pageResources.add(EventLinks.PROFILE_LIST);
         if(account != null) {
-            pageResources.add(linkTo(EventController.class).withRel("create-event"));
+            pageResources.add(EventLinks.eventsLink().withRel("create-event"));
+        }
+
+        return ResponseEntity.ok()
+                .eTag(EventETags.of(etag, account != null))
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(pageResources);
+    }
+
+    /**
+     * 이벤트 목록 조회 (커서 기반, 다음 방향)
+     * 빈 커서(after=)로 요청하면 첫 페이지부터 조회한다.
+     * @param after 이전 응답의 next 링크에 담긴 커서
+     * @param size
+     * @param filter 커서 기반 조회는 필터를 지원하지 않는다.
+     * @return 잘못된 커서이거나 필터 파라미터가 있으면 400 응답
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity queryEventsAfter(@RequestParam String after, @RequestParam(defaultValue = "20") int size, @CurrentUser Account account,
+                                           EventFilter filter) {
+        Integer afterId = after.isEmpty() ? Integer.valueOf(Integer.MIN_VALUE) : decodeCursor(after);
+        if (afterId == null || !filter.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        size = keysetSize(size);
+        Slice<Event> slice = this.eventRepository.findByIdGreaterThan(afterId, PageRequest.of(0, size, Sort.by("id").ascending()));
+        return keysetResponse(slice.getContent(), size, slice.hasNext(), !after.isEmpty(), account);
+    }
+
+    /**
+     * 이벤트 목록 조회 (커서 기반, 이전 방향)
+     * 빈 커서(before=)로 요청하면 마지막 페이지를 조회한다.
+     * @param before 이전 응답의 prev 링크에 담긴 커서
+     * @param size
+     * @param filter 커서 기반 조회는 필터를 지원하지 않는다.
+     * @return 잘못된 커서이거나 필터 파라미터가 있으면 400 응답
+     */
+    @GetMapping(params = "before")
+    public ResponseEntity queryEventsBefore(@RequestParam String before, @RequestParam(defaultValue = "20") int size, @CurrentUser Account account,
+                                            EventFilter filter) {
+        Integer beforeId = before.isEmpty() ? Integer.valueOf(Integer.MAX_VALUE) : decodeCursor(before);
+        if (beforeId == null || !filter.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        size = keysetSize(size);
+        Slice<Event> slice = this.eventRepository.findByIdLessThan(beforeId, PageRequest.of(0, size, Sort.by("id").descending()));
+        List<Event> events = new ArrayList<>(slice.getContent());
+        Collections.reverse(events);
+        return keysetResponse(events, size, !before.isEmpty(), slice.hasNext(), account);
+    }
+
+    private ResponseEntity keysetResponse(List<Event> events, int size, boolean hasNext, boolean hasPrevious, Account account) {
+        var resources = this.eventSliceAssembler.toKeysetModel(events, size, hasNext, hasPrevious);
+        resources.add(EventLinks.PROFILE_LIST_KEYSET);
+        if (account != null) {
+            resources.add(EventLinks.eventsLink().withRel("create-event"));
+        }
+
+        return ResponseEntity.ok()
+                .eTag(EventETags.of(EventETags.of(events, size, hasNext ? 1 : 0, hasPrevious ? 1 : 0), account != null))
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(resources);
+    }
+
+    private Integer decodeCursor(String cursor) {
+        try {
+            return KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private boolean isSortable(Sort sort) {
+        return sort.stream().count() <= 1 && sort.stream().allMatch(order -> SORTABLE_PROPERTIES.contains(order.getProperty()));
+    }
+
+    private int keysetSize(int size) {
+        return Math.max(1, Math.min(size, MAX_KEYSET_SIZE));
+    }
+
+    /**
+     * 전체 이벤트 내보내기 (NDJSON 또는 CSV)
+     * 페이지 단위로 나누지 않고 전체 이벤트를 응답에 바로 스트리밍한다.
+     * @param format ndjson(기본값) 또는 csv
+     * @param response
+     */
+    @GetMapping(value = "/export", produces = { EXPORT_NDJSON_VALUE, EXPORT_CSV_VALUE })
+    public void exportEvents(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        switch (format) {
+            case "ndjson":
+                response.setContentType(EXPORT_NDJSON_VALUE);
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"events.ndjson\"");
+                this.eventExportService.exportNdjson(response.getOutputStream());
+                break;
+            case "csv":
+                response.setContentType(EXPORT_CSV_VALUE);
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"events.csv\"");
+                this.eventExportService.exportCsv(response.getOutputStream());
+                break;
+            default:
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+        }
+    }
+
+    /**
+     * 이벤트 검색 (이름, 설명)
+     * 메모리 검색 인덱스(EventSearchIndex)에서 점수 순으로 id를 찾고, 해당 페이지의 이벤트만 조회한다.
+     * @param q 검색어 (공백으로 구분한 단어 중 하나라도 포함하면 검색된다)
+     * @param pageable 정렬은 무시하고 점수 순으로 응답한다.
+     * @return
+     */
+    @GetMapping("/search")
+    public ResponseEntity searchEvents(@RequestParam String q, Pageable pageable, PagedResourcesAssembler<Event> assembler,
+                                       @CurrentUser Account account) {
+        if (EventSearchIndex.tokenize(q).isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return eventPage(this.eventSearchIndex.search(q, pageable), assembler, EventLinks.PROFILE_SEARCH, account);
+    }
+
+    /**
+     * 이벤트 기간이 [from, to]와 겹치는 이벤트 조회 (시작 일시 순)
+     * @param pageable 정렬은 무시한다.
+     * @return
+     */
+    @GetMapping("/overlapping")
+    public ResponseEntity queryOverlappingEvents(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                 Pageable pageable, PagedResourcesAssembler<Event> assembler, @CurrentUser Account account) {
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().build();
         }
+        return eventPage(this.eventIntervalIndex.overlapping(from, to, pageable), assembler, EventLinks.PROFILE_OVERLAPPING, account);
+    }
 
+    /**
+     * at 시점에 등록 기간인 이벤트 조회 (등록 시작 일시 순)
+     * @param at 기준 일시 (없으면 현재 일시)
+     * @param pageable 정렬은 무시한다.
+     * @return
+     */
+    @GetMapping("/enrolling")
+    public ResponseEntity queryEnrollingEvents(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+                                               Pageable pageable, PagedResourcesAssembler<Event> assembler, @CurrentUser Account account) {
+        Page<Integer> ids = this.eventIntervalIndex.enrolling(at == null ? LocalDateTime.now() : at, pageable);
+        return eventPage(ids, assembler, EventLinks.PROFILE_ENROLLING, account);
+    }
+
+    /**
+     * 메모리 인덱스가 순서를 정한 id 페이지로 응답 (해당 페이지의 이벤트만 조회한다)
+     * DB에 없는 id는 응답에서 빼고 인덱스에서도 지운다. (DB에서 직접 삭제된 이벤트 등)
+     */
+    private ResponseEntity eventPage(Page<Integer> ids, PagedResourcesAssembler<Event> assembler, Link profile, Account account) {
+        Map<Integer, Event> events = new HashMap<>();
+        this.eventRepository.findAllById(ids.getContent()).forEach(event -> events.put(event.getId(), event));
+        List<Event> content = new ArrayList<>(events.size());
+        for (Integer id : ids.getContent()) {
+            Event event = events.get(id);
+            if (event != null) {
+                content.add(event);
+            } else {
+                this.eventSearchIndex.remove(id);
+                this.eventIntervalIndex.remove(id);
+            }
+        }
+        Page<Event> page = new PageImpl<>(content, ids.getPageable(), ids.getTotalElements() - (ids.getNumberOfElements() - content.size()));
+
+        var pageResources = assembler.toModel(page, EventResource::new);
+        pageResources.add(profile);
+        if (account != null) {
+            pageResources.add(EventLinks.eventsLink().withRel("create-event"));
+        }
         return ResponseEntity.ok(pageResources);
     }
 
     /**
      * 이벤트 단건 조회
+     * If-None-Match 헤더의 ETag가 현재 버전과 같으면 엔티티를 로딩하지 않고 304 응답
+     * 캐시는 저장할 때 새 버전으로 교체되고 이전 버전으로 덮어쓰이지 않으므로 그대로 사용한다.
+     * 관리자에게는 수정 링크가 붙으므로 ETag도 관리자용 표현으로 따로 만든다.
      * @param id
      * @return
      */
     @GetMapping("/{id}")
-    public ResponseEntity getEvent(@PathVariable Integer id, @CurrentUser Account account) {
+    public ResponseEntity getEvent(@PathVariable Integer id, @CurrentUser Account account,
+                                   @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<EventRepository.VersionView> version = this.eventRepository.findVersionById(id);
+            if (version.isPresent()) {
+                String etag = EventETags.of(version.get().getVersion(), isManager(version.get().getMangerId(), account));
+                if (EventETags.matchesAny(ifNoneMatch, etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                            .eTag(etag)
+                            .varyBy(HttpHeaders.AUTHORIZATION)
+                            .build();
+                }
+            }
+        }
+
         Optional<Event> findById = this.eventRepository.findById(id);
-        if(findById.isEmpty()) {
+        if (findById.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
         Event event = findById.get();
-        event.setManger(account);
         EventResource eventResource = new EventResource(event);
-        eventResource.add(new Link("/docs/index.html#resources-events-get").withRel("profile"));
-        if (event.getManger().equals(account)) {
-            eventResource.add(linkTo(EventController.class).slash(event.getId()).withRel("update-event"));
+        eventResource.add(EventLinks.PROFILE_GET);
+        boolean manager = isManager(event, account);
+        if (manager) {
+            eventResource.add(EventLinks.eventLink(event.getId()).withRel("update-event"));
         }
 
-        return ResponseEntity.ok(eventResource);
+        return ResponseEntity.ok()
+                .eTag(EventETags.of(event.getVersion(), manager))
+                .lastModified(EventETags.lastModified(event))
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(eventResource);
     }
 
     /**
      * 이벤트 수정
+     * If-Match 헤더의 ETag가 현재 버전과 다르면 412 응답 (lost update 방지)
+     * If-Match 없이 보낸 요청이 다른 요청과 동시에 수정되면 409 응답
      * @param id
      * @param eventDto
      * @param errors
      * @return
      */
     @PutMapping("/{id}")
-    public ResponseEntity updateEvent(@PathVariable Integer id, @RequestBody @Valid EventDto eventDto, Errors errors) {
-        Optional<Event> findById = this.eventRepository.findById(id);
+    public ResponseEntity updateEvent(@PathVariable Integer id, @RequestBody @Valid EventDto eventDto, Errors errors,
+                                      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Optional<Event> findById = this.eventRepository.findUncachedById(id);
         if (findById.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
+        if (ifMatch != null && !EventETags.matchesVersion(ifMatch, findById.get().getVersion())) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+
         if (errors.hasErrors()) {
             return badRequest(errors);
         }
@@ -143,14 +493,136 @@ public class EventController {
 
         Event event = findById.get();
 
-        this.modelMapper.map(eventDto, event);  // eventDto -> event Data binding
-        Event savedEvent = this.eventRepository.save(event);
+        this.eventMapper.update(eventDto, event);  // eventDto -> event Data binding
+        Event savedEvent;
+        try {
+            savedEvent = this.eventRepository.save(event);
+        } catch (OptimisticLockingFailureException e) {
+            return concurrentlyModified(ifMatch);   // 다른 요청이 먼저 수정한 경우
+        }
+        indexEvent(savedEvent);
         EventResource eventResource = new EventResource(savedEvent);
-        eventResource.add(new Link("/docs/index.html#resources-events-update").withRel("profile"));
+        eventResource.add(EventLinks.PROFILE_UPDATE);
 
-        return ResponseEntity.ok(eventResource);
+        return ResponseEntity.ok()
+                .eTag(EventETags.of(savedEvent.getVersion()))
+                .body(eventResource);
     }
  
+    /**
+     * 이벤트 부분 수정 (JSON Merge Patch, RFC 7396)
+     * 요청에 있는 필드만 현재 값에 덮어쓴 뒤 전체를 다시 검증하고, 바뀐 컬럼만 UPDATE 한다. (@DynamicUpdate)
+     * If-Match 헤더의 ETag가 현재 버전과 다르면 412 응답, If-Match 없이 동시에 수정되면 409 응답
+     * @param id
+     * @param patch 수정할 필드 (null이면 값을 지운다)
+     * @return
+     */
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_JSON_VALUE)
+    public ResponseEntity patchEvent(@PathVariable Integer id, @RequestBody JsonNode patch,
+                                     @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (!patch.isObject()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Optional<Event> findById = this.eventRepository.findUncachedById(id);
+        if (findById.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Event event = findById.get();
+        if (ifMatch != null && !EventETags.matchesVersion(ifMatch, event.getVersion())) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+
+        EventDto eventDto = this.eventMapper.toDto(event);
+        try {
+            this.objectMapper.readerForUpdating(eventDto)
+                    .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(patch);
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().build();     // 알 수 없는 필드, 잘못된 형식
+        }
+
+        Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        this.validator.validate(eventDto, errors);
+        if (!errors.hasErrors()) {
+            this.eventValidator.validate(eventDto, errors);
+        }
+        if (errors.hasErrors()) {
+            return badRequest(errors);
+        }
+
+        this.eventMapper.update(eventDto, event);
+        event.update();
+        Event savedEvent;
+        try {
+            savedEvent = this.eventRepository.save(event);
+        } catch (OptimisticLockingFailureException e) {
+            return concurrentlyModified(ifMatch);
+        }
+        indexEvent(savedEvent);
+
+        EventResource eventResource = new EventResource(savedEvent);
+        eventResource.add(EventLinks.PROFILE_PATCH);
+
+        return ResponseEntity.ok()
+                .eTag(EventETags.of(savedEvent.getVersion()))
+                .body(eventResource);
+    }
+
+    /**
+     * 이벤트 참가 신청
+     * 신청 가능 여부는 메모리에서 바로 판단하고 신청은 잠시 후 저장되므로 202 응답
+     * 이벤트는 단건 조회와 같은 캐시에서 읽는다. (수정하면 새 버전으로 교체되므로 바뀐 기간, 정원, 상태로 판단한다)
+     * @param id
+     * @return 등록 기간이 아니거나, 정원이 찼거나, 이미 신청했으면 409 응답
+     */
+    @PostMapping("/{id}/enrollments")
+    public ResponseEntity enrollEvent(@PathVariable Integer id, @CurrentUser Account account) {
+        Optional<Event> findById = this.eventRepository.findById(id);
+        if (findById.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Event event = findById.get();
+        LocalDateTime now = LocalDateTime.now();
+        EnrollmentResult result = this.enrollmentService.enroll(event, account, now);
+        if (result != EnrollmentResult.ACCEPTED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(ENROLLMENT_RESULT_HEADER, result.name())
+                    .build();
+        }
+
+        EventEnrollment enrollment = new EventEnrollment(event, account.getId(), now, this.enrollmentService.remaining(event));
+        enrollment.add(EventLinks.PROFILE_ENROLL);
+        return ResponseEntity.accepted().body(enrollment);
+    }
+
+    /**
+     * 저장한 이벤트를 메모리 인덱스와 현황에 반영
+     */
+    private void indexEvent(Event event) {
+        this.eventSearchIndex.index(event);
+        this.eventIntervalIndex.index(event);
+        this.eventStatusScheduler.schedule(event);
+        this.enrollmentService.updateLimit(event);
+    }
+
+    private boolean isManager(Event event, Account account) {
+        return event.getManger() != null && isManager(event.getManger().getId(), account);
+    }
+
+    private boolean isManager(Integer mangerId, Account account) {
+        return account != null && account.getId().equals(mangerId);
+    }
+
+    /**
+     * 저장 중 버전 충돌: 클라이언트가 If-Match로 버전을 지정했으면 412, 지정하지 않았으면 409
+     */
+    private ResponseEntity concurrentlyModified(String ifMatch) {
+        return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+    }
+
     private ResponseEntity<ErrorsResource> badRequest(Errors errors) {
         return ResponseEntity.badRequest().body(new ErrorsResource(errors));
     }
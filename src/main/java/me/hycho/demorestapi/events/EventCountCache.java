@@ -0,0 +1,60 @@
+package me.hycho.demorestapi.events;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import me.hycho.demorestapi.common.AppProperties;
+
+/**
+ * 이벤트 전체 개수 캐시
+ * 목록 조회마다 count 쿼리를 실행하지 않고 TTL(my-app.event-count-cache-ttl) 동안 같은 값을 사용한다.
+ * 이벤트가 생성되면 무효화된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventCountCache {
+
+    private final EventRepository eventRepository;
+
+    private final AppProperties appProperties;
+
+    private volatile Snapshot snapshot;
+
+    public long count() {
+        Snapshot current = this.snapshot;
+        if (current != null && !current.isExpired()) {
+            return current.count;
+        }
+
+        synchronized (this) {
+            current = this.snapshot;
+            if (current == null || current.isExpired()) {
+                long expiresAt = System.nanoTime() + this.appProperties.getEventCountCacheTtl().toNanos();
+                current = new Snapshot(this.eventRepository.count(), expiresAt);
+                this.snapshot = current;
+            }
+            return current.count;
+        }
+    }
+
+    public void invalidate() {
+        this.snapshot = null;
+    }
+
+    private static class Snapshot {
+
+        private final long count;
+
+        private final long expiresAt;
+
+        Snapshot(long count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - this.expiresAt >= 0;
+        }
+    }
+
+}
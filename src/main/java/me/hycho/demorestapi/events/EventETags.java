@@ -0,0 +1,110 @@
+package me.hycho.demorestapi.events;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 이벤트 응답의 ETag / Last-Modified 값
+ * 단건은 @Version 값으로 strong ETag를, 목록은 포함된 이벤트의 id와 버전으로 weak ETag를 만든다.
+ * 단건 조회는 관리자에게 링크가 더 붙으므로 관리자용 표현에는 "-m"을 붙여 구분한다.
+ * 목록 조회는 로그인한 사용자에게 create-event 링크가 더 붙으므로 그 표현에는 "-a"를 붙여 구분한다.
+ */
+final class EventETags {
+
+    private static final String MANAGER_SUFFIX = "-m";
+
+    private static final String AUTHENTICATED_SUFFIX = "-a";
+
+    private EventETags() {
+    }
+
+    static String of(Integer version) {
+        return "\"" + version + "\"";
+    }
+
+    static String of(Integer version, boolean manager) {
+        return manager ? "\"" + version + MANAGER_SUFFIX + "\"" : of(version);
+    }
+
+    static String of(Iterable<Event> events, long... pageInfo) {
+        long hash = 17;
+        for (Event event : events) {
+            hash = hash(hash, event.getId(), event.getVersion());
+        }
+        return weak(hash, pageInfo);
+    }
+
+    static String ofSummaries(Iterable<EventSummary> events, long... pageInfo) {
+        long hash = 17;
+        for (EventSummary event : events) {
+            hash = hash(hash, event.getId(), event.getVersion());
+        }
+        return weak(hash, pageInfo);
+    }
+
+    /**
+     * 목록 ETag를 로그인한 사용자용 표현으로 구분
+     */
+    static String of(String listETag, boolean authenticated) {
+        return authenticated ? listETag.substring(0, listETag.length() - 1) + AUTHENTICATED_SUFFIX + "\"" : listETag;
+    }
+
+    static long lastModified(Event event) {
+        LocalDateTime lastModifiedDateTime = event.getLastModifiedDateTime();
+        return lastModifiedDateTime == null ? -1 : lastModifiedDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * If-None-Match 비교 (weak comparison)
+     */
+    static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || stripWeak(candidate).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-Match 비교 (strong comparison: weak ETag는 일치하지 않는 것으로 본다)
+     */
+    static boolean matchesStrongly(String ifMatch, String etag) {
+        for (String candidate : ifMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-Match 헤더가 현재 버전의 어느 표현(일반, 관리자용)과든 strong 일치하는지 확인
+     */
+    static boolean matchesVersion(String ifMatch, Integer version) {
+        return matchesStrongly(ifMatch, of(version)) || matchesStrongly(ifMatch, of(version, true));
+    }
+
+    private static long hash(long hash, Integer id, Integer version) {
+        hash = 31 * hash + id;
+        return 31 * hash + (version == null ? 0 : version);
+    }
+
+    private static String weak(long hash, long... pageInfo) {
+        for (long value : pageInfo) {
+            hash = 31 * hash + value;
+        }
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+}
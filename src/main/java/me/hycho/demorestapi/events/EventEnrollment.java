@@ -0,0 +1,31 @@
+package me.hycho.demorestapi.events;
+
+import java.time.LocalDateTime;
+
+import org.springframework.hateoas.RepresentationModel;
+
+import lombok.Getter;
+
+/**
+ * 참가 신청 결과 (신청은 접수된 뒤 잠시 후 저장된다)
+ */
+@Getter
+public class EventEnrollment extends RepresentationModel<EventEnrollment> {
+
+    private final Integer eventId;
+
+    private final Integer accountId;
+
+    private final LocalDateTime enrolledDateTime;
+
+    private final int remaining;
+
+    public EventEnrollment(Event event, Integer accountId, LocalDateTime enrolledDateTime, int remaining) {
+        this.eventId = event.getId();
+        this.accountId = accountId;
+        this.enrolledDateTime = enrolledDateTime;
+        this.remaining = remaining;
+        add(EventLinks.eventLink(event.getId()).withRel("event"));
+    }
+
+}
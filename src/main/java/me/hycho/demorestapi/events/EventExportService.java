@@ -0,0 +1,138 @@
+package me.hycho.demorestapi.events;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 전체 이벤트 내보내기
+ * 커서(Stream)로 조회한 이벤트를 한 건씩 바로 출력하고, 일정 건수마다 영속성 컨텍스트를 비워서
+ * 이벤트 수와 관계없이 메모리 사용량이 일정하다.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventExportService {
+
+    private static final int CLEAR_INTERVAL = 500;
+
+    private static final String CSV_HEADER = "id,name,description,beginEnrollmentDateTime,closeEnrollmentDateTime,"
+            + "beginEventDateTime,endEventDateTime,location,basePrice,maxPrice,limitOfEnrollment,"
+            + "offline,free,eventStatus,managerId";
+
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final EventRepository eventRepository;
+
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 한 줄에 이벤트 하나씩 JSON으로 출력 (NDJSON)
+     * @return 출력한 이벤트 수
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Event.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+
+        try (Stream<Event> events = eventRepository.streamAllBy();
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<Event> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    generator.flush();
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * CSV로 출력 (첫 줄은 헤더)
+     * @return 출력한 이벤트 수
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        long count = 0;
+
+        try (Stream<Event> events = eventRepository.streamAllBy()) {
+            Iterator<Event> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                writeCsvRow(writer, iterator.next());
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, Event event) throws IOException {
+        Object[] values = {
+            event.getId(), event.getName(), event.getDescription(),
+            event.getBeginEnrollmentDateTime(), event.getCloseEnrollmentDateTime(),
+            event.getBeginEventDateTime(), event.getEndEventDateTime(),
+            event.getLocation(), event.getBasePrice(), event.getMaxPrice(), event.getLimitOfEnrollment(),
+            event.isOffline(), event.isFree(), event.getEventStatus(),
+            event.getManger() == null ? null : event.getManger().getId()
+        };
+
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(csvValue(values[i]));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * 구분자, 따옴표, 줄바꿈이 있으면 따옴표로 감싼다. (RFC 4180)
+     * 스프레드시트가 수식으로 해석하는 문자(=, +, -, @, 탭, CR)로 시작하는 문자열은 앞에 '를 붙인다.
+     */
+    private String csvValue(Object value) {
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+}
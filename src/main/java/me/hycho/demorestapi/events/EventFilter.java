@@ -0,0 +1,50 @@
+package me.hycho.demorestapi.events;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 이벤트 목록 조회의 필터 파라미터 (지정한 조건만 AND로 적용)
+ */
+@Getter @Setter
+public class EventFilter {
+
+    private EventStatus eventStatus;
+    private Boolean free;
+    private Boolean offline;
+    private Integer minPrice; // basePrice >= minPrice
+    private Integer maxPrice; // basePrice <= maxPrice
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginAfter; // beginEventDateTime >= beginAfter
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginBefore; // beginEventDateTime < beginBefore
+    private Integer manager; // manger id
+
+    public boolean isEmpty() {
+        return eventStatus == null && free == null && offline == null && minPrice == null && maxPrice == null
+                && beginAfter == null && beginBefore == null && manager == null;
+    }
+
+    /**
+     * @return 조건이 없으면 null
+     */
+    public Specification<Event> toSpecification() {
+        if (isEmpty()) {
+            return null;
+        }
+        return Specification.where(EventSpecs.eventStatus(eventStatus))
+                .and(EventSpecs.free(free))
+                .and(EventSpecs.offline(offline))
+                .and(EventSpecs.basePriceFrom(minPrice))
+                .and(EventSpecs.basePriceTo(maxPrice))
+                .and(EventSpecs.beginAfter(beginAfter))
+                .and(EventSpecs.beginBefore(beginBefore))
+                .and(EventSpecs.manager(manager));
+    }
+
+}
@@ -0,0 +1,209 @@
+package me.hycho.demorestapi.events;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 이벤트 기간/등록 기간 구간 인덱스 (메모리)
+ * "기간이 겹치는 이벤트", "지금 등록 중인 이벤트"는 SQL에서 양쪽 범위 조건이 되어 인덱스로 범위를 좁히기 어렵기 때문에
+ * 구간 트리(IntervalTree)로 조회한다.
+ * 트리는 메모리에만 있으므로 서버가 뜰 때 rebuild()가 DB의 기간 컬럼으로 채우고, 생성/수정된 이벤트는 컨트롤러가 index(event)로 바로 반영한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventIntervalIndex {
+
+    private final EventRepository eventRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final IntervalTree eventPeriods = new IntervalTree();
+
+    private final IntervalTree enrollmentPeriods = new IntervalTree();
+
+    /**
+     * 이벤트 id -> 인덱스에 넣은 구간 (수정할 때 이전 구간 제거용)
+     */
+    private final Map<Integer, Periods> events = new HashMap<>();
+
+    /**
+     * 이벤트 기간과 등록 기간 컬럼만 읽어서 두 구간 트리를 채운다.
+     * 읽는 동안 수정 요청이 index(event)로 먼저 넣은 구간은 버전이 더 높으므로 DB에서 읽은 값으로 되돌리지 않는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        EventBatches.forEach(this.eventRepository::findPeriodsByIdGreaterThan, EventRepository.PeriodsView::getId,
+                view -> index(view.getId(), view.getVersion(), view.getBeginEventDateTime(), view.getEndEventDateTime(),
+                        view.getBeginEnrollmentDateTime(), view.getCloseEnrollmentDateTime()));
+
+        log.info("Indexed {} event periods in {} ms", size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /**
+     * 저장된 이벤트를 인덱스에 추가하거나 갱신
+     */
+    public void index(Event event) {
+        index(event.getId(), event.getVersion(), event.getBeginEventDateTime(), event.getEndEventDateTime(),
+                event.getBeginEnrollmentDateTime(), event.getCloseEnrollmentDateTime());
+    }
+
+    void index(int id, Integer version, LocalDateTime beginEvent, LocalDateTime endEvent,
+               LocalDateTime beginEnrollment, LocalDateTime closeEnrollment) {
+        Periods periods = new Periods(version == null ? 0 : version,
+                toSeconds(beginEvent), toSeconds(endEvent), toSeconds(beginEnrollment), toSeconds(closeEnrollment));
+
+        lock.writeLock().lock();
+        try {
+            Periods previous = this.events.get(id);
+            if (previous != null) {
+                if (periods.version < previous.version) {
+                    return;
+                }
+                if (previous.hasEventPeriod()) {
+                    this.eventPeriods.remove(previous.beginEvent, id);
+                }
+                if (previous.hasEnrollmentPeriod()) {
+                    this.enrollmentPeriods.remove(previous.beginEnrollment, id);
+                }
+            }
+
+            if (periods.hasEventPeriod()) {
+                this.eventPeriods.insert(periods.beginEvent, periods.endEvent, id);
+            }
+            if (periods.hasEnrollmentPeriod()) {
+                this.enrollmentPeriods.insert(periods.beginEnrollment, periods.closeEnrollment, id);
+            }
+            this.events.put(id, periods);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 이벤트 기간이 [from, to]와 겹치는 이벤트 (시작 일시 순)
+     * @return 이벤트 id 페이지
+     */
+    public Page<Integer> overlapping(LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        return page(this.eventPeriods, toSeconds(from), toSeconds(to), pageable);
+    }
+
+    /**
+     * at 시점에 등록 기간인 이벤트 (등록 시작 일시 순)
+     * @return 이벤트 id 페이지
+     */
+    public Page<Integer> enrolling(LocalDateTime at, Pageable pageable) {
+        long seconds = toSeconds(at);
+        return page(this.enrollmentPeriods, seconds, seconds, pageable);
+    }
+
+    /**
+     * DB에 없는 이벤트의 구간을 트리에서 뺀다.
+     */
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            Periods previous = this.events.remove(id);
+            if (previous == null) {
+                return;
+            }
+            if (previous.hasEventPeriod()) {
+                this.eventPeriods.remove(previous.beginEvent, id);
+            }
+            if (previous.hasEnrollmentPeriod()) {
+                this.enrollmentPeriods.remove(previous.beginEnrollment, id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 인덱스에 있는 이벤트 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return this.events.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 요청한 페이지의 id만 모으고 나머지는 개수만 센다.
+     */
+    private Page<Integer> page(IntervalTree tree, long from, long to, Pageable pageable) {
+        long offset = pageable.getOffset();
+        long end = offset + pageable.getPageSize();
+        List<Integer> ids = new ArrayList<>(pageable.getPageSize());
+        long[] total = new long[1];
+
+        lock.readLock().lock();
+        try {
+            tree.overlapping(from, to, id -> {
+                if (total[0] >= offset && total[0] < end) {
+                    ids.add(id);
+                }
+                total[0]++;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new PageImpl<>(ids, pageable, total[0]);
+    }
+
+    private static long toSeconds(LocalDateTime dateTime) {
+        return dateTime == null ? Long.MIN_VALUE : dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * 일시가 없는 구간은 인덱스에 넣지 않는다. (Long.MIN_VALUE)
+     */
+    private static class Periods {
+
+        private final int version;
+
+        private final long beginEvent;
+
+        private final long endEvent;
+
+        private final long beginEnrollment;
+
+        private final long closeEnrollment;
+
+        Periods(int version, long beginEvent, long endEvent, long beginEnrollment, long closeEnrollment) {
+            this.version = version;
+            this.beginEvent = beginEvent;
+            this.endEvent = endEvent;
+            this.beginEnrollment = beginEnrollment;
+            this.closeEnrollment = closeEnrollment;
+        }
+
+        boolean hasEventPeriod() {
+            return this.beginEvent != Long.MIN_VALUE && this.endEvent != Long.MIN_VALUE;
+        }
+
+        boolean hasEnrollmentPeriod() {
+            return this.beginEnrollment != Long.MIN_VALUE && this.closeEnrollment != Long.MIN_VALUE;
+        }
+    }
+
+}
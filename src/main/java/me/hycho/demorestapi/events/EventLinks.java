@@ -0,0 +1,78 @@
+package me.hycho.demorestapi.events;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+import org.springframework.hateoas.Link;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * 이벤트 리소스 링크
+ * linkTo(EventController.class)는 호출할 때마다 컨트롤러 매핑을 찾고 URI를 새로 만들기 때문에
+ * 기준 URI(/api/events)는 요청당 한 번만 계산하고, 각 링크는 기준 URI에 id를 붙여서 만든다.
+ */
+public final class EventLinks {
+
+    private static final String BASE_URI_ATTRIBUTE = EventLinks.class.getName() + ".BASE_URI";
+
+    public static final Link PROFILE_CREATE = profile("resources-events-create");
+
+    public static final Link PROFILE_CREATE_BATCH = profile("resources-events-create-batch");
+
+    public static final Link PROFILE_LIST = profile("resources-events-list");
+
+    public static final Link PROFILE_LIST_KEYSET = profile("resources-events-list-keyset");
+
+    public static final Link PROFILE_SEARCH = profile("resources-events-search");
+
+    public static final Link PROFILE_OVERLAPPING = profile("resources-events-overlapping");
+
+    public static final Link PROFILE_ENROLLING = profile("resources-events-enrolling");
+
+    public static final Link PROFILE_ENROLL = profile("resources-events-enroll");
+
+    public static final Link PROFILE_GET = profile("resources-events-get");
+
+    public static final Link PROFILE_UPDATE = profile("resources-events-update");
+
+    public static final Link PROFILE_PATCH = profile("resources-events-patch");
+
+    private EventLinks() {
+    }
+
+    /**
+     * 이벤트 목록의 절대 URI (현재 요청 안에서는 한 번만 계산한다)
+     */
+    public static String baseUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return linkTo(EventController.class).toUri().toString();
+        }
+
+        String baseUri = (String) attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = linkTo(EventController.class).toUri().toString();
+            attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+        return baseUri;
+    }
+
+    /**
+     * 이벤트 목록 링크 (rel: self, 필요한 rel로 바꿔서 사용)
+     */
+    public static Link eventsLink() {
+        return new Link(baseUri());
+    }
+
+    /**
+     * 이벤트 단건 링크 (rel: self, 필요한 rel로 바꿔서 사용)
+     */
+    public static Link eventLink(Integer id) {
+        return new Link(baseUri() + "/" + id);
+    }
+
+    private static Link profile(String section) {
+        return new Link("/docs/index.html#" + section).withRel("profile");
+    }
+
+}
@@ -1,7 +1,164 @@
 package me.hycho.demorestapi.events;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface EventRepository extends JpaRepository<Event, Integer>, EventSummaryRepository {
+
+    /**
+     * 캐시된 이벤트는 여러 요청이 공유하므로 수정하면 안 된다. (수정할 때는 findUncachedById 사용)
+     */
+    @Override
+    @Cacheable(cacheNames = "events", unless = "#result == null")
+    Optional<Event> findById(Integer id);
+
+    /**
+     * 캐시를 거치지 않는 조회 (수정용)
+     */
+    Optional<Event> findUncachedById(Integer id);
+
+
+    /**
+     * 저장한 이벤트로 캐시를 교체한다. (커밋 뒤에 실행된다)
+     * 무효화만 하면 저장 전에 DB에서 읽은 조회가 뒤늦게 이전 버전을 채울 수 있으므로,
+     * 새 버전을 먼저 넣어 두고 events 캐시는 더 낮은 버전으로 덮어쓰지 않는다. (CacheConfig)
+     */
+    @Override
+    @CachePut(cacheNames = "events", key = "#result.id")
+    <S extends Event> S save(S event);
+
+    /**
+     * 커서 기반 조회: 기준 id 이후의 이벤트 (PK 인덱스를 타므로 페이지 깊이와 관계없이 비용이 일정하다)
+     */
+    Slice<Event> findByIdGreaterThan(Integer id, Pageable pageable);
+
+    /**
+     * 커서 기반 조회: 기준 id 이전의 이벤트
+     */
+    Slice<Event> findByIdLessThan(Integer id, Pageable pageable);
+
+    /**
+     * 엔티티를 로딩하지 않고 버전과 관리자 id만 조회 (조건부 요청 확인용)
+     */
+    @Query("select e.version as version, e.manger.id as mangerId from Event e where e.id = :id")
+    Optional<VersionView> findVersionById(Integer id);
+
+    /**
+     * 전체 이벤트를 커서로 조회 (내보내기용, 트랜잭션 안에서 사용하고 반드시 close 해야 한다)
+     * fetch size 만큼씩 DB에서 가져오고, 읽기 전용으로 로딩해서 변경 감지용 스냅샷을 만들지 않는다.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select e from Event e order by e.id")
+    Stream<Event> streamAllBy();
+
+    /**
+     * 검색 인덱스 재구성용: 기준 id 이후 이벤트의 이름/설명 (엔티티를 로딩하지 않는다)
+     */
+    @Query("select e.id as id, e.version as version, e.name as name, e.description as description from Event e where e.id > :id order by e.id")
+    List<SearchText> findSearchTextByIdGreaterThan(Integer id, Pageable pageable);
+
+    /**
+     * 구간 인덱스 재구성용: 기준 id 이후 이벤트의 기간 (엔티티를 로딩하지 않는다)
+     */
+    @Query("select e.id as id, e.version as version, e.beginEventDateTime as beginEventDateTime, e.endEventDateTime as endEventDateTime,"
+            + " e.beginEnrollmentDateTime as beginEnrollmentDateTime, e.closeEnrollmentDateTime as closeEnrollmentDateTime"
+            + " from Event e where e.id > :id order by e.id")
+    List<PeriodsView> findPeriodsByIdGreaterThan(Integer id, Pageable pageable);
+
+    /**
+     * 상태 전환 재구성용: 기준 id 이후 이벤트의 상태와 일시 (statuses 상태는 제외)
+     */
+    @Query("select e.id as id, e.eventStatus as eventStatus, e.beginEnrollmentDateTime as beginEnrollmentDateTime,"
+            + " e.closeEnrollmentDateTime as closeEnrollmentDateTime, e.beginEventDateTime as beginEventDateTime,"
+            + " e.endEventDateTime as endEventDateTime"
+            + " from Event e where e.id > :id and e.eventStatus not in :statuses order by e.id")
+    List<StatusScheduleView> findStatusSchedulesByIdGreaterThan(Integer id, Collection<EventStatus> statuses, Pageable pageable);
+
+    /**
+     * 이벤트 상태 일괄 변경 (DRAFT는 변경하지 않는다)
+     * 응답의 ETag, Last-Modified가 바뀌도록 버전과 수정 일시도 함께 변경한다.
+     * 스케줄러가 알던 일시가 그 사이에 수정되었을 수 있으므로 현재 DB의 일시로 now에 status가 맞는 이벤트만 변경한다.
+     * (EventStatusScheduler의 statusAt과 같은 순서로 비교, 일시가 없으면 도달하지 않은 것으로 본다)
+     * @return 변경한 이벤트 수
+     */
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.eventStatus = :status, e.version = e.version + 1, e.lastModifiedDateTime = :now"
+            + " where e.id in :ids and e.eventStatus <> :status and e.eventStatus <> me.hycho.demorestapi.events.EventStatus.DRAFT"
+            + " and :#{#status.name()} = case when e.endEventDateTime <= :now then 'ENDED'"
+            + "     when e.beginEventDateTime <= :now then 'STARTED'"
+            + "     when e.closeEnrollmentDateTime <= :now then 'CLOSED_ENROLLMENT'"
+            + "     when e.beginEnrollmentDateTime <= :now then 'BEGAN_ENROLLMEND'"
+            + "     else 'PUBLISHED' end")
+    int updateStatus(Collection<Integer> ids, EventStatus status, LocalDateTime now);
+
+    interface VersionView {
+
+        Integer getVersion();
+
+        Integer getMangerId();
+    }
+
+    interface SearchText {
+
+        Integer getId();
+
+        Integer getVersion();
+
+        String getName();
+
+        String getDescription();
+    }
+
+    interface PeriodsView {
+
+        Integer getId();
+
+        Integer getVersion();
+
+        LocalDateTime getBeginEventDateTime();
+
+        LocalDateTime getEndEventDateTime();
+
+        LocalDateTime getBeginEnrollmentDateTime();
+
+        LocalDateTime getCloseEnrollmentDateTime();
+    }
+
+    interface StatusScheduleView {
+
+        Integer getId();
+
+        EventStatus getEventStatus();
+
+        LocalDateTime getBeginEnrollmentDateTime();
+
+        LocalDateTime getCloseEnrollmentDateTime();
+
+        LocalDateTime getBeginEventDateTime();
+
+        LocalDateTime getEndEventDateTime();
+    }
 
-public interface EventRepository extends JpaRepository<Event, Integer> {
-    
 }
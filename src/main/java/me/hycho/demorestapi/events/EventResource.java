@@ -3,8 +3,6 @@ package me.hycho.demorestapi.events;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-
 public class EventResource extends EntityModel<Event> {
     
     /**
@@ -12,6 +10,6 @@ public class EventResource extends EntityModel<Event> {
      */
     public EventResource(Event event, Link... links) {
         super(event, links);
-        add(linkTo(EventController.class).slash(event.getId()).withSelfRel());
+        add(EventLinks.eventLink(event.getId()));
     }
 }
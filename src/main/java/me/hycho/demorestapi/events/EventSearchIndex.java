@@ -0,0 +1,822 @@
+package me.hycho.demorestapi.events;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 이벤트 이름/설명 전문 검색 인덱스 (메모리 역색인, BM25 점수)
+ * LIKE '%x%' 조건은 DB 인덱스를 사용할 수 없어서 테이블 전체를 읽기 때문에 검색은 이 인덱스로 처리한다.
+ * 역색인은 재시작하면 사라지므로 ApplicationReadyEvent에서 이름/설명을 읽어 다시 색인하고, 이후 생성/수정은 index(event)로 반영한다.
+ *
+ * posting list는 문서 번호 순이고, 수정된 이벤트는 새 문서 번호로 끝에 추가한 뒤 이전 문서에는 삭제 표시만 한다.
+ * (수정 비용은 term 수에 비례하고 posting list 길이와 무관하다. 삭제된 항목은 절반을 넘으면 정리한다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventSearchIndex {
+
+    private static final float K1 = 1.2f;
+
+    private static final float B = 0.75f;
+
+    /**
+     * 최대 점수는 부동소수점 오차로 실제 점수보다 작아지지 않도록 조금 크게 잡는다.
+     */
+    private static final float BOUND_SLACK = 1.0001f;
+
+    private static final int BLOCK_SHIFT = 6;    // posting 64개마다 블록 최대 점수 계산용 값을 기록
+
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    private static final int SEED_MIN_BLOCKS_PER_HIT = 4;  // 블록이 k * 4개 이상인 posting list로 threshold 초기값을 구한다.
+
+    private static final int MIN_RENUMBER = 1024;
+
+
+    private final EventRepository eventRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /**
+     * 이벤트 id -> 현재 문서 번호 (posting list에는 문서 번호를 저장한다)
+     */
+    private final Map<Integer, Integer> documents = new HashMap<>();
+
+    private final BitSet deleted = new BitSet();    // 수정되어 더 이상 검색되지 않는 문서 번호
+
+    private int[] eventIds = new int[1024];
+
+    private int[] versions = new int[1024];
+
+    private int[] lengths = new int[1024];
+
+    private String[][] terms = new String[1024][];  // 문서의 term 목록 (수정할 때 이전 posting 삭제 표시용)
+
+    private int documentCount;  // 발급한 문서 번호 수 (삭제된 문서 포함)
+
+    private int deletedCount;
+
+    private long totalLength;
+
+    /**
+     * 모든 이벤트의 이름과 설명을 색인한다. (엔티티 대신 SearchText projection으로 읽는다)
+     * 색인하는 동안 수정된 이벤트는 index(event)가 먼저 새 버전을 넣으므로, 뒤늦게 읽은 이전 버전은 index()에서 버려진다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        EventBatches.forEach(this.eventRepository::findSearchTextByIdGreaterThan, EventRepository.SearchText::getId,
+                text -> index(text.getId(), text.getVersion(), text.getName(), text.getDescription()));
+
+        log.info("Indexed {} events for search in {} ms", size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /**
+     * 저장된 이벤트를 인덱스에 추가하거나 갱신
+     */
+    public void index(Event event) {
+        index(event.getId(), event.getVersion(), event.getName(), event.getDescription());
+    }
+
+    void index(int id, Integer version, String name, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String token : tokenize(name)) {
+            frequencies.merge(token, 1, Integer::sum);
+            length++;
+        }
+        for (String token : tokenize(description)) {
+            frequencies.merge(token, 1, Integer::sum);
+            length++;
+        }
+        int documentVersion = version == null ? 0 : version;
+
+        lock.writeLock().lock();
+        try {
+            Integer previous = this.documents.get(id);
+            if (previous != null) {
+                if (documentVersion < this.versions[previous]) {
+                    return;
+                }
+                delete(previous);
+            }
+
+            int document = this.documentCount++;
+            ensureCapacity(this.documentCount);
+            this.documents.put(id, document);
+            this.eventIds[document] = id;
+
+            String[] documentTerms = new String[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                this.postings.computeIfAbsent(entry.getKey(), term -> new Postings()).add(document, entry.getValue(), length, id);
+                documentTerms[i++] = entry.getKey();
+            }
+            this.terms[document] = documentTerms;
+            this.versions[document] = documentVersion;
+            this.lengths[document] = length;
+            this.totalLength += length;
+
+            if (this.deletedCount >= MIN_RENUMBER && this.deletedCount > this.documentCount / 2) {
+                renumber();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어의 term 중 하나라도 포함한 이벤트를 BM25 점수 내림차순으로 조회 (점수가 같으면 id 오름차순)
+     * @return 이벤트 id 페이지
+     */
+    public Page<Integer> search(String query, Pageable pageable) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        if (queryTerms.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Postings> matched = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                Postings termPostings = this.postings.get(term);
+                if (termPostings != null) {
+                    matched.add(termPostings);
+                }
+            }
+
+            int total = count(matched);
+            long offset = pageable.getOffset();
+            if (offset >= total) {
+                return new PageImpl<>(Collections.emptyList(), pageable, total);
+            }
+
+            TopHits top = new TopHits((int) Math.min(offset + pageable.getPageSize(), total));
+            collect(matched, top);
+            return toPage(top, offset, pageable, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색된 문서 수
+     * 긴 posting list의 문서 수에서 시작해서, 짧은 posting list에서는 앞의 posting list에 없는 문서만 더한다.
+     */
+    private int count(List<Postings> matched) {
+        if (matched.isEmpty()) {
+            return 0;
+        }
+
+        Postings[] lists = matched.toArray(new Postings[0]);
+        Arrays.sort(lists, Comparator.comparingInt((Postings termPostings) -> termPostings.live).reversed());
+        int total = lists[0].live;
+        int[] positions = new int[lists.length];
+        for (int i = 1; i < lists.length; i++) {
+            Arrays.fill(positions, 0);
+            for (int j = 0; j < lists[i].size; j++) {
+                int document = lists[i].documents[j];
+                if (this.deleted.get(document)) {
+                    continue;
+                }
+                boolean counted = false;
+                for (int k = 0; k < i && !counted; k++) {
+                    positions[k] = lists[k].advance(positions[k], document);
+                    counted = positions[k] < lists[k].size && lists[k].documents[positions[k]] == document;
+                }
+                if (!counted) {
+                    total++;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * posting list들을 문서 번호 순으로 함께 읽으면서 (document-at-a-time) 점수 상위 문서를 top에 모은다.
+     * threshold(top의 k번째 점수와 id)보다 순위가 높을 수 없는 문서는 점수를 계산하지 않는다.
+     * - MaxScore: 최대 점수가 낮은 term부터 최대 점수 합이 threshold보다 작은 term들은
+     *   그 term들만 포함한 문서가 top에 들어갈 수 없으므로, 나머지 term의 문서에 대해서만 찾아본다.
+     * - 블록 최대 점수: 블록의 최대 점수에 다른 term들의 최대 점수를 더해도 threshold보다 작으면 블록을 건너뛴다.
+     *   term이 하나면 최대 점수가 정확하므로 threshold와 같더라도 블록의 가장 작은 id가 더 크면 건너뛴다.
+     */
+    private void collect(List<Postings> matched, TopHits top) {
+        float averageLength = averageLength();
+        int count = matched.size();
+        float slack = count == 1 ? 1 : BOUND_SLACK;
+        Cursor[] cursors = new Cursor[count];
+        for (int i = 0; i < count; i++) {
+            cursors[i] = new Cursor(matched.get(i), averageLength, slack);
+        }
+        Arrays.sort(cursors, Comparator.comparingDouble(cursor -> cursor.maxScore));
+
+        float[] bounds = new float[count];  // cursors[0..i]의 최대 점수 합
+        float sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += cursors[i].maxScore;
+            bounds[i] = sum;
+        }
+        seed(cursors, top);
+
+        float[] contributions = new float[count];   // 점수는 건너뛴 경로와 상관없이 항상 같은 순서로 더한다.
+        int essential = 0;  // cursors[essential..]에 나온 문서만 후보가 된다.
+        while (true) {
+            float threshold = top.threshold();
+            int thresholdId = count == 1 ? top.thresholdId() : Integer.MAX_VALUE;
+            while (essential < count && bounds[essential] < threshold) {
+                essential++;
+            }
+            if (essential == count) {
+                return;
+            }
+
+            int document = Integer.MAX_VALUE;
+            for (int i = essential; i < count; i++) {
+                Cursor cursor = cursors[i];
+                cursor.skipBlocks(threshold - (sum - cursor.maxScore), thresholdId);
+                document = Math.min(document, cursor.document());
+            }
+            if (document == Integer.MAX_VALUE) {
+                return;
+            }
+
+            float partial = 0;
+            for (int i = essential; i < count; i++) {
+                contributions[i] = 0;
+                if (cursors[i].document() == document) {
+                    contributions[i] = cursors[i].score(cursors[i].position);
+                    partial += contributions[i];
+                    cursors[i].position++;
+                }
+            }
+            boolean candidate = true;
+            for (int i = essential - 1; i >= 0 && candidate; i--) {
+                contributions[i] = 0;
+                if (partial + bounds[i] < threshold) {
+                    candidate = false;
+                } else if (cursors[i].advance(document)) {
+                    contributions[i] = cursors[i].score(cursors[i].position);
+                    partial += contributions[i];
+                }
+            }
+            if (candidate) {
+                float score = 0;
+                for (float contribution : contributions) {
+                    score += contribution;
+                }
+                top.offer(this.eventIds[document], score);
+            }
+        }
+    }
+
+    /**
+     * threshold 초기값: 긴 posting list에서 출현 횟수가 큰 문서 k개의 점수로 k번째 점수를 미리 구한다.
+     * (최대 출현 횟수가 minFrequency 이상인 블록이 k개 이상이므로 그런 문서도 k개 이상 있다)
+     * threshold만 올리고 top에는 넣지 않으므로 나중에 같은 문서를 다시 만나도 된다.
+     */
+    private void seed(Cursor[] cursors, TopHits top) {
+        int k = top.capacity();
+        TopHits seeds = new TopHits(k);
+        Set<Integer> seen = new HashSet<>();
+        for (Cursor cursor : cursors) {
+            Postings termPostings = cursor.postings;
+            int blocks = termPostings.blocks();
+            if (blocks < k * SEED_MIN_BLOCKS_PER_HIT) {
+                continue;
+            }
+
+            int minFrequency = termPostings.minFrequencyOfTopBlocks(k);
+            for (int block = 0; block < blocks && !seeds.isFull(); block++) {
+                if (termPostings.blockMaxFrequencies[block] < minFrequency) {
+                    continue;
+                }
+                int end = Math.min(termPostings.size, (block + 1) << BLOCK_SHIFT);
+                for (int i = block << BLOCK_SHIFT; i < end && !seeds.isFull(); i++) {
+                    int document = termPostings.documents[i];
+                    if (termPostings.frequencies[i] < minFrequency || this.deleted.get(document)) {
+                        continue;
+                    }
+                    if (cursors.length == 1) {
+                        seeds.offer(this.eventIds[document], cursor.score(i));
+                    } else if (seen.add(document)) {
+                        seeds.offer(this.eventIds[document], score(cursors, document));
+                    }
+                }
+            }
+        }
+        if (seeds.isFull()) {
+            top.setFloor(seeds.threshold(), seeds.thresholdId());
+        }
+    }
+
+    /**
+     * 문서의 점수 (collect와 같은 순서로 더한다)
+     */
+    private float score(Cursor[] cursors, int document) {
+        float score = 0;
+        for (Cursor cursor : cursors) {
+            int position = cursor.postings.advance(0, document);
+            if (position < cursor.postings.size && cursor.postings.documents[position] == document) {
+                score += cursor.score(position);
+            }
+        }
+        return score;
+    }
+
+    private float averageLength() {
+        int live = this.documentCount - this.deletedCount;
+        return live == 0 ? 1 : Math.max(1, (float) this.totalLength / live);
+    }
+
+    private float idf(Postings termPostings) {
+        int live = this.documentCount - this.deletedCount;
+        return (float) Math.log(1 + (live - termPostings.live + 0.5) / (termPostings.live + 0.5));
+    }
+
+    /**
+     * BM25 term 점수 idf * f * (k1 + 1) / (f + norm)를 출현 횟수와 문서 길이에 대해 단조인 연산 순서로 계산한다.
+     * (블록의 최대 출현 횟수, 최소 길이로 계산한 값이 블록 안 문서의 점수보다 작아지지 않는다)
+     */
+    private static float score(float idf, int frequency, int length, float averageLength) {
+        float norm = K1 * (1 - B + B * length / averageLength);
+        return idf * (K1 + 1) / (1 + norm / frequency);
+    }
+
+    private static Page<Integer> toPage(TopHits top, long offset, Pageable pageable, int total) {
+        int[] ranked = top.sortedIds();
+        List<Integer> ids = new ArrayList<>(ranked.length - (int) offset);
+        for (int i = (int) offset; i < ranked.length; i++) {
+            ids.add(ranked[i]);
+        }
+        return new PageImpl<>(ids, pageable, total);
+    }
+
+    /**
+     * DB에 없는 이벤트를 검색 결과에서 뺀다. (직접 삭제된 행 등)
+     */
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            Integer document = this.documents.remove(id);
+            if (document != null) {
+                delete(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 인덱스에 있는 이벤트 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return this.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 영문자/숫자/한글이 이어진 부분을 소문자 term으로 나눈다.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 문서에 삭제 표시 (posting은 그대로 두고, 삭제된 항목이 남은 항목보다 많아진 posting list만 정리한다)
+     */
+    private void delete(int document) {
+        this.deleted.set(document);
+        this.deletedCount++;
+        this.totalLength -= this.lengths[document];
+        for (String term : this.terms[document]) {
+            Postings termPostings = this.postings.get(term);
+            termPostings.live--;
+            if (termPostings.live == 0) {
+                this.postings.remove(term);
+            } else if (termPostings.size - termPostings.live > termPostings.live) {
+                termPostings.compact(this.deleted, this.lengths, this.eventIds, null);
+            }
+        }
+        this.terms[document] = null;
+    }
+
+    /**
+     * 삭제된 문서 번호를 빼고 번호를 다시 매긴다. (순서는 그대로이므로 posting list는 정렬된 채로 남는다)
+     * 삭제된 문서가 절반을 넘을 때만 실행하므로 수정 한 번당 비용은 일정하다.
+     */
+    private void renumber() {
+        int[] renumbered = new int[this.documentCount];
+        int live = 0;
+        for (int document = 0; document < this.documentCount; document++) {
+            if (!this.deleted.get(document)) {
+                renumbered[document] = live++;
+            }
+        }
+
+        for (Postings termPostings : this.postings.values()) {
+            termPostings.compact(this.deleted, this.lengths, this.eventIds, renumbered);
+        }
+        for (int document = 0; document < this.documentCount; document++) {
+            if (!this.deleted.get(document)) {
+                int to = renumbered[document];
+                this.eventIds[to] = this.eventIds[document];
+                this.versions[to] = this.versions[document];
+                this.lengths[to] = this.lengths[document];
+                this.terms[to] = this.terms[document];
+            }
+        }
+        Arrays.fill(this.terms, live, this.documentCount, null);
+        this.documents.replaceAll((id, document) -> renumbered[document]);
+
+        this.deleted.clear();
+        this.documentCount = live;
+        this.deletedCount = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= this.eventIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, this.eventIds.length * 2);
+        this.eventIds = Arrays.copyOf(this.eventIds, newCapacity);
+        this.versions = Arrays.copyOf(this.versions, newCapacity);
+        this.lengths = Arrays.copyOf(this.lengths, newCapacity);
+        this.terms = Arrays.copyOf(this.terms, newCapacity);
+    }
+
+    /**
+     * term 하나의 posting list (문서 번호 오름차순, 출현 횟수)
+     * 블록(posting 64개)마다 최대 출현 횟수, 최소 문서 길이, 최소 이벤트 id를 기록해서 블록의 최대 점수를 계산한다.
+     * 삭제 표시된 항목도 최대값에 포함되므로 최대 점수는 실제보다 클 수는 있어도 작지는 않다.
+     */
+    private static class Postings {
+
+        private int[] documents = new int[4];
+
+        private int[] frequencies = new int[4];
+
+        private int[] blockMaxFrequencies = new int[1];
+
+        private int[] blockMinLengths = new int[1];
+
+        private int[] blockMinIds = new int[1];
+
+        private int size;
+
+        private int live;   // 삭제 표시되지 않은 항목 수
+
+        private int maxFrequency;
+
+        private int minLength = Integer.MAX_VALUE;
+
+        /**
+         * 끝에 추가 (문서 번호는 항상 마지막 항목보다 크다)
+         */
+        void add(int document, int frequency, int length, int id) {
+            if (this.size == this.documents.length) {
+                resize(this.size * 2);
+            }
+            this.documents[this.size] = document;
+            this.frequencies[this.size] = frequency;
+            record(this.size, frequency, length, id);
+            this.size++;
+            this.live++;
+        }
+
+        int blocks() {
+            return (this.size + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+        }
+
+        /**
+         * 최대 출현 횟수가 이 값 이상인 블록이 k개 이상인 가장 큰 출현 횟수
+         */
+        int minFrequencyOfTopBlocks(int k) {
+            int[] histogram = new int[64];
+            int blocks = blocks();
+            for (int block = 0; block < blocks; block++) {
+                histogram[Math.min(this.blockMaxFrequencies[block], histogram.length - 1)]++;
+            }
+            int atLeast = 0;
+            for (int frequency = histogram.length - 1; frequency > 1; frequency--) {
+                atLeast += histogram[frequency];
+                if (atLeast >= k) {
+                    return frequency;
+                }
+            }
+            return 1;
+        }
+
+        /**
+         * position부터 document 이상인 첫 번째 항목의 위치 (지수 탐색 후 이진 탐색)
+         */
+        int advance(int position, int document) {
+            if (position >= this.size || this.documents[position] >= document) {
+                return position;
+            }
+            int low = position;
+            int step = 1;
+            int high = position + step;
+            while (high < this.size && this.documents[high] < document) {
+                low = high;
+                step <<= 1;
+                high = position + step;
+            }
+            int index = Arrays.binarySearch(this.documents, low + 1, Math.min(high, this.size - 1) + 1, document);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        /**
+         * 삭제 표시된 항목을 빼고 블록 값을 다시 계산한다. (renumbered가 있으면 문서 번호도 바꾼다)
+         */
+        void compact(BitSet deleted, int[] lengths, int[] eventIds, int[] renumbered) {
+            int kept = 0;
+            this.maxFrequency = 0;
+            this.minLength = Integer.MAX_VALUE;
+            for (int i = 0; i < this.size; i++) {
+                int document = this.documents[i];
+                if (deleted.get(document)) {
+                    continue;
+                }
+                this.documents[kept] = renumbered == null ? document : renumbered[document];
+                this.frequencies[kept] = this.frequencies[i];
+                record(kept, this.frequencies[i], lengths[document], eventIds[document]);
+                kept++;
+            }
+            this.size = kept;
+            this.live = kept;
+            if (this.documents.length > 64 && kept < this.documents.length / 4) {
+                resize(kept * 2);
+            }
+        }
+
+        private void record(int position, int frequency, int length, int id) {
+            int block = position >>> BLOCK_SHIFT;
+            if ((position & (BLOCK_SIZE - 1)) == 0) {
+                this.blockMaxFrequencies[block] = frequency;
+                this.blockMinLengths[block] = length;
+                this.blockMinIds[block] = id;
+            } else {
+                this.blockMaxFrequencies[block] = Math.max(this.blockMaxFrequencies[block], frequency);
+                this.blockMinLengths[block] = Math.min(this.blockMinLengths[block], length);
+                this.blockMinIds[block] = Math.min(this.blockMinIds[block], id);
+            }
+            this.maxFrequency = Math.max(this.maxFrequency, frequency);
+            this.minLength = Math.min(this.minLength, length);
+        }
+
+        private void resize(int capacity) {
+            int blocks = (capacity + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+            this.documents = Arrays.copyOf(this.documents, capacity);
+            this.frequencies = Arrays.copyOf(this.frequencies, capacity);
+            this.blockMaxFrequencies = Arrays.copyOf(this.blockMaxFrequencies, blocks);
+            this.blockMinLengths = Arrays.copyOf(this.blockMinLengths, blocks);
+            this.blockMinIds = Arrays.copyOf(this.blockMinIds, blocks);
+        }
+    }
+
+    /**
+     * 검색 한 번에서 posting list를 읽는 위치
+     */
+    private class Cursor {
+
+        private final Postings postings;
+
+        private final float idf;
+
+        private final float averageLength;
+
+        private final float slack;
+
+        private final float maxScore;
+
+        private int position;
+
+        private int block = -1;
+
+        private float blockScore;
+
+        /**
+         * @param slack 최대 점수에 곱하는 값 (점수를 여러 term에서 더할 때의 부동소수점 오차용)
+         */
+        Cursor(Postings postings, float averageLength, float slack) {
+            this.postings = postings;
+            this.idf = idf(postings);
+            this.averageLength = averageLength;
+            this.slack = slack;
+            this.maxScore = EventSearchIndex.score(this.idf, postings.maxFrequency, postings.minLength, averageLength) * slack;
+        }
+
+        int document() {
+            return this.position < this.postings.size ? this.postings.documents[this.position] : Integer.MAX_VALUE;
+        }
+
+        float score(int position) {
+            return EventSearchIndex.score(this.idf, this.postings.frequencies[position],
+                    lengths[this.postings.documents[position]], this.averageLength);
+        }
+
+        /**
+         * 최대 점수가 minimum보다 작거나, 같으면서 가장 작은 id가 minimumId보다 큰 블록과 삭제 표시된 항목을 건너뛴다.
+         */
+        void skipBlocks(float minimum, int minimumId) {
+            while (this.position < this.postings.size) {
+                int current = this.position >>> BLOCK_SHIFT;
+                if (current != this.block) {
+                    this.block = current;
+                    this.blockScore = EventSearchIndex.score(this.idf, this.postings.blockMaxFrequencies[current],
+                            this.postings.blockMinLengths[current], this.averageLength) * this.slack;
+                }
+                if (this.blockScore < minimum
+                        || (this.blockScore == minimum && this.postings.blockMinIds[current] > minimumId)) {
+                    this.position = (current + 1) << BLOCK_SHIFT;
+                } else if (deleted.get(this.postings.documents[this.position])) {
+                    this.position++;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * document 위치로 이동
+         * @return document를 포함하면 true
+         */
+        boolean advance(int document) {
+            this.position = this.postings.advance(this.position, document);
+            return this.position < this.postings.size && this.postings.documents[this.position] == document;
+        }
+    }
+
+    /**
+     * 점수 상위 k개 (min-heap, 전체 결과를 정렬하지 않는다)
+     */
+    private static class TopHits {
+
+        private final int[] ids;
+
+        private final float[] scores;
+
+        private int size;
+
+        private float floorScore = Float.NEGATIVE_INFINITY;
+
+        private int floorId = Integer.MAX_VALUE;
+
+        TopHits(int capacity) {
+            this.ids = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        int capacity() {
+            return this.ids.length;
+        }
+
+        boolean isFull() {
+            return this.size == this.ids.length;
+        }
+
+        /**
+         * 최종 k번째 순위가 이보다 낮지 않다는 것을 미리 알 때 지정 (threshold가 처음부터 이 값이 된다)
+         */
+        void setFloor(float score, int id) {
+            this.floorScore = score;
+            this.floorId = id;
+        }
+
+        /**
+         * 들어가기 위해 넘어야 하는 점수 (k개가 모이기 전에는 floor)
+         */
+        float threshold() {
+            return heapAboveFloor() ? this.scores[0] : this.floorScore;
+        }
+
+        /**
+         * threshold와 점수가 같을 때 들어가려면 이 id보다 작아야 한다.
+         */
+        int thresholdId() {
+            return heapAboveFloor() ? this.ids[0] : this.floorId;
+        }
+
+        private boolean heapAboveFloor() {
+            return isFull() && !ranksBelow(this.ids[0], this.scores[0], this.floorId, this.floorScore);
+        }
+
+        void offer(int id, float score) {
+            if (this.size < this.ids.length) {
+                this.ids[this.size] = id;
+                this.scores[this.size] = score;
+                siftUp(this.size++);
+            } else if (this.ids.length > 0 && ranksBelow(this.ids[0], this.scores[0], id, score)) {
+                this.ids[0] = id;
+                this.scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * @return 점수 내림차순 id
+         */
+        int[] sortedIds() {
+            int[] sorted = new int[this.size];
+            for (int i = this.size - 1; i >= 0; i--) {
+                sorted[i] = this.ids[0];
+                this.size--;
+                swap(0, this.size);
+                siftDown(0);
+            }
+            return sorted;
+        }
+
+        private static boolean ranksBelow(int id, float score, int otherId, float otherScore) {
+            return score < otherScore || (score == otherScore && id > otherId);
+        }
+
+        private boolean ranksBelow(int i, int j) {
+            return ranksBelow(this.ids[i], this.scores[i], this.ids[j], this.scores[j]);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!ranksBelow(i, parent)) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int lowest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < this.size && ranksBelow(left, lowest)) {
+                    lowest = left;
+                }
+                if (right < this.size && ranksBelow(right, lowest)) {
+                    lowest = right;
+                }
+                if (lowest == i) {
+                    return;
+                }
+                swap(i, lowest);
+                i = lowest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int id = this.ids[i];
+            float score = this.scores[i];
+            this.ids[i] = this.ids[j];
+            this.scores[i] = this.scores[j];
+            this.ids[j] = id;
+            this.scores[j] = score;
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package me.hycho.demorestapi.events;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이벤트 하나의 참가 신청 현황 (메모리)
+ * 신청 수는 CAS로 늘리므로 DB 행 잠금 없이 limitOfEnrollment를 넘지 않는다.
+ */
+final class EventSeats {
+
+    private final AtomicInteger taken;
+
+    private final Set<Integer> accounts = ConcurrentHashMap.newKeySet();
+
+    private volatile int limit;
+
+    /**
+     * @param enrolledAccounts 이미 저장된 참가 신청의 계정 id
+     */
+    EventSeats(int limit, Collection<Integer> enrolledAccounts) {
+        this.limit = limit;
+        this.accounts.addAll(enrolledAccounts);
+        this.taken = new AtomicInteger(this.accounts.size());
+    }
+
+    EnrollmentResult enroll(int accountId) {
+        if (!this.accounts.add(accountId)) {
+            return EnrollmentResult.ALREADY_ENROLLED;
+        }
+
+        int current;
+        do {
+            current = this.taken.get();
+            if (current >= this.limit) {
+                this.accounts.remove(accountId);
+                return EnrollmentResult.FULL;
+            }
+        } while (!this.taken.compareAndSet(current, current + 1));
+        return EnrollmentResult.ACCEPTED;
+    }
+
+    /**
+     * 저장하지 못한 참가 신청 취소
+     */
+    void release(int accountId) {
+        if (this.accounts.remove(accountId)) {
+            this.taken.decrementAndGet();
+        }
+    }
+
+    /**
+     * 정원을 줄여도 이미 받은 신청은 취소하지 않는다.
+     */
+    void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    int remaining() {
+        return Math.max(0, this.limit - this.taken.get());
+    }
+
+    int taken() {
+        return this.taken.get();
+    }
+
+}
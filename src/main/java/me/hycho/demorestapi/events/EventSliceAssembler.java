@@ -0,0 +1,82 @@
+package me.hycho.demorestapi.events;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import me.hycho.demorestapi.common.KeysetCursor;
+
+/**
+ * 전체 개수 없이 목록 응답을 만드는 assembler (PagedResourcesAssembler 대체)
+ * count 쿼리를 실행하지 않으므로 first/last 링크 없이 next/prev 링크만 제공한다.
+ */
+@Component
+public class EventSliceAssembler {
+
+    /**
+     * 페이지 번호 기반 Slice 응답
+     */
+    public CollectionModel<EventSummaryResource> toModel(Slice<EventSummary> slice) {
+        CollectionModel<EventSummaryResource> model = new CollectionModel<>(slice.getContent().stream()
+                .map(EventSummaryResource::new)
+                .collect(Collectors.toList()));
+        model.add(new Link(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+
+        if (slice.hasNext()) {
+            model.add(pageLink(slice.getNumber() + 1).withRel(IanaLinkRelations.NEXT));
+        }
+        if (slice.hasPrevious()) {
+            model.add(pageLink(slice.getNumber() - 1).withRel(IanaLinkRelations.PREV));
+        }
+        return model;
+    }
+
+    /**
+     * 커서 기반 응답
+     * @param events id 오름차순으로 정렬된 이벤트 목록
+     */
+    public CollectionModel<EventResource> toKeysetModel(List<Event> events, int size, boolean hasNext, boolean hasPrevious) {
+        CollectionModel<EventResource> model = new CollectionModel<>(toResources(events));
+        model.add(new Link(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+        if (events.isEmpty()) {
+            return model;
+        }
+
+        if (hasNext) {
+            int lastId = events.get(events.size() - 1).getId();
+            model.add(cursorLink("after", lastId, size).withRel(IanaLinkRelations.NEXT));
+        }
+        if (hasPrevious) {
+            int firstId = events.get(0).getId();
+            model.add(cursorLink("before", firstId, size).withRel(IanaLinkRelations.PREV));
+        }
+        return model;
+    }
+
+    private List<EventResource> toResources(List<Event> events) {
+        return events.stream()
+                .map(EventResource::new)
+                .collect(Collectors.toList());
+    }
+
+    private Link pageLink(int page) {
+        return new Link(ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("page", page)
+                .toUriString());
+    }
+
+    private Link cursorLink(String direction, int id, int size) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(EventLinks.baseUri())
+                .queryParam(direction, KeysetCursor.encode(id))
+                .queryParam("size", size);
+        return new Link(builder.toUriString());
+    }
+
+}
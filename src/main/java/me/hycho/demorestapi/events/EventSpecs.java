@@ -0,0 +1,51 @@
+package me.hycho.demorestapi.events;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * 이벤트 목록 검색 조건 (JPA Specification)
+ * 값이 null이면 조건을 추가하지 않도록 null을 반환한다. (Specification.where/and는 null을 무시)
+ */
+final class EventSpecs {
+
+    private EventSpecs() {
+    }
+
+    static Specification<Event> eventStatus(EventStatus eventStatus) {
+        return eventStatus == null ? null : (root, query, cb) -> cb.equal(root.get("eventStatus"), eventStatus);
+    }
+
+    static Specification<Event> free(Boolean free) {
+        return free == null ? null : (root, query, cb) -> cb.equal(root.get("free"), free);
+    }
+
+    static Specification<Event> offline(Boolean offline) {
+        return offline == null ? null : (root, query, cb) -> cb.equal(root.get("offline"), offline);
+    }
+
+    static Specification<Event> basePriceFrom(Integer minPrice) {
+        return minPrice == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("basePrice"), minPrice);
+    }
+
+    static Specification<Event> basePriceTo(Integer maxPrice) {
+        return maxPrice == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("basePrice"), maxPrice);
+    }
+
+    static Specification<Event> beginAfter(LocalDateTime dateTime) {
+        return dateTime == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("beginEventDateTime"), dateTime);
+    }
+
+    static Specification<Event> beginBefore(LocalDateTime dateTime) {
+        return dateTime == null ? null : (root, query, cb) -> cb.lessThan(root.get("beginEventDateTime"), dateTime);
+    }
+
+    /**
+     * manger의 외래 키 컬럼으로 비교 (join 없음)
+     */
+    static Specification<Event> manager(Integer accountId) {
+        return accountId == null ? null : (root, query, cb) -> cb.equal(root.get("manger").get("id"), accountId);
+    }
+
+}
@@ -0,0 +1,304 @@
+package me.hycho.demorestapi.events;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import me.hycho.demorestapi.common.AppProperties;
+
+/**
+ * 이벤트 상태 자동 전환 (PUBLISHED -> BEGAN_ENROLLMEND -> CLOSED_ENROLLMENT -> STARTED -> ENDED)
+ * 이벤트마다 현재 상태가 끝나는 시각(등록 시작/마감, 이벤트 시작/종료)을 타이밍 휠에 등록하고,
+ * 1초마다 만료된 이벤트를 바뀔 상태별로 모아서 UPDATE ... WHERE id IN (...) 한 번으로 변경한다.
+ * DRAFT 이벤트는 공개 여부를 직접 정해야 하므로 전환하지 않는다.
+ * 타이밍 휠은 메모리에만 있으므로 서버가 뜰 때 전환이 남은 이벤트의 일시로 타이머를 다시 걸고, 생성/수정된 이벤트는 schedule(event)로 타이머를 바꾼다.
+ */
+@Slf4j
+@Component
+public class EventStatusScheduler {
+
+    private static final Set<EventStatus> UNSCHEDULED = EnumSet.of(EventStatus.DRAFT, EventStatus.ENDED);
+
+    private final EventRepository eventRepository;
+
+    private final AppProperties appProperties;
+
+    private final Cache eventCache;
+
+    private final Timer lag;
+
+    private final DistributionSummary batchSize;
+
+    private final TimingWheel wheel = new TimingWheel(toSeconds(LocalDateTime.now()));
+
+    /**
+     * 이벤트 id -> 현재 상태와 상태가 끝나는 시각 (타이밍 휠의 타이머가 이 값과 다르면 무시한다)
+     */
+    private final Map<Integer, Schedule> schedules = new HashMap<>();
+
+    private ScheduledExecutorService executor;
+
+    public EventStatusScheduler(EventRepository eventRepository, AppProperties appProperties, CacheManager cacheManager,
+                                MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.appProperties = appProperties;
+        this.eventCache = cacheManager.getCache("events");
+        this.lag = Timer.builder("event.status.transition.lag")
+                .description("Delay between the scheduled transition time and the status update")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("event.status.transition.batch")
+                .description("Events updated by one status transition statement")
+                .register(meterRegistry);
+        Gauge.builder("event.status.scheduled", this, EventStatusScheduler::size)
+                .description("Events waiting for a status transition")
+                .register(meterRegistry);
+    }
+
+    /**
+     * DB에서 전환할 이벤트를 다시 등록하고 1초마다 전환을 시작한다. (my-app.event-status-transition)
+     * 서버가 내려가 있는 동안 지난 전환은 첫 번째 실행에서 한꺼번에 처리된다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long started = System.nanoTime();
+        EventBatches.forEach((lastId, pageable) -> this.eventRepository.findStatusSchedulesByIdGreaterThan(lastId, UNSCHEDULED, pageable),
+                EventRepository.StatusScheduleView::getId,
+                view -> schedule(view.getId(), view.getEventStatus(), view.getBeginEnrollmentDateTime(), view.getCloseEnrollmentDateTime(),
+                        view.getBeginEventDateTime(), view.getEndEventDateTime()));
+        log.info("Scheduled {} event status transitions in {} ms", size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        if (this.appProperties.isEventStatusTransition()) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "event-status");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.executor.scheduleWithFixedDelay(this::tick, 1, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 저장된 이벤트의 다음 전환을 등록하거나 갱신
+     */
+    public void schedule(Event event) {
+        schedule(event.getId(), event.getEventStatus(), event.getBeginEnrollmentDateTime(), event.getCloseEnrollmentDateTime(),
+                event.getBeginEventDateTime(), event.getEndEventDateTime());
+    }
+
+    synchronized void schedule(int id, EventStatus status, LocalDateTime beginEnrollment, LocalDateTime closeEnrollment,
+                               LocalDateTime beginEvent, LocalDateTime endEvent) {
+        if (status == null || UNSCHEDULED.contains(status)) {
+            this.schedules.remove(id);
+            return;
+        }
+        put(new Schedule(id, status, toSeconds(beginEnrollment), toSeconds(closeEnrollment), toSeconds(beginEvent), toSeconds(endEvent)));
+    }
+
+    /**
+     * now까지 만료된 전환을 실행
+     */
+    void advance(LocalDateTime now) {
+        long seconds = toSeconds(now);
+        Map<EventStatus, List<Schedule>> transitions = new EnumMap<>(EventStatus.class);
+
+        synchronized (this) {
+            this.wheel.advance(seconds, (id, deadline) -> {
+                Schedule schedule = this.schedules.get(id);
+                if (schedule == null || schedule.deadline != deadline || schedule.fired) {
+                    return; // 다시 등록되었거나 더 이상 전환하지 않는 이벤트, 같은 타이머가 중복된 이벤트
+                }
+                schedule.fired = true;
+                EventStatus target = schedule.statusAt(seconds);
+                if (target == schedule.status) {
+                    this.schedules.remove(id);  // 일시 순서가 맞지 않는 이벤트
+                    return;
+                }
+                this.lag.record(Math.max(0, seconds - deadline), TimeUnit.SECONDS);
+                transitions.computeIfAbsent(target, status -> new ArrayList<>()).add(schedule);
+            });
+        }
+
+        transitions.forEach((status, fired) -> {
+            for (int from = 0; from < fired.size(); from += this.appProperties.getEventStatusBatchSize()) {
+                List<Schedule> chunk = fired.subList(from, Math.min(fired.size(), from + this.appProperties.getEventStatusBatchSize()));
+                transition(chunk, status, now, seconds);
+            }
+        });
+    }
+
+    synchronized int size() {
+        return this.schedules.size();
+    }
+
+    private void transition(List<Schedule> chunk, EventStatus status, LocalDateTime now, long seconds) {
+        List<Integer> ids = new ArrayList<>(chunk.size());
+        chunk.forEach(schedule -> ids.add(schedule.id));
+        int updated;
+        try {
+            updated = this.eventRepository.updateStatus(ids, status, now);
+        } catch (DataAccessException e) {
+            log.warn("Failed to update status of {} events to {}, retrying", ids.size(), status, e);
+            synchronized (this) {
+                chunk.forEach(schedule -> retry(schedule, seconds + 1));
+            }
+            return;
+        }
+        this.batchSize.record(updated);
+        if (this.eventCache != null) {
+            ids.forEach(this.eventCache::evict);
+        }
+
+        synchronized (this) {
+            for (Schedule schedule : chunk) {
+                if (this.schedules.get(schedule.id) != schedule) {
+                    continue;   // 처리하는 동안 수정된 이벤트
+                }
+                if (UNSCHEDULED.contains(status)) {
+                    this.schedules.remove(schedule.id);
+                } else {
+                    put(schedule.withStatus(status));
+                }
+            }
+        }
+    }
+
+    /**
+     * 만료 시각이 같은 타이머가 아직 휠에 있으면 (일시가 바뀌지 않은 수정) 타이머를 다시 추가하지 않는다.
+     */
+    private void put(Schedule schedule) {
+        Schedule previous = this.schedules.put(schedule.id, schedule);
+        if (schedule.deadline != Long.MAX_VALUE
+                && (previous == null || previous.fired || previous.deadline != schedule.deadline)) {
+            this.wheel.schedule(schedule.id, schedule.deadline);
+        }
+    }
+
+    private void retry(Schedule schedule, long deadline) {
+        if (this.schedules.get(schedule.id) == schedule) {
+            Schedule retry = schedule.withDeadline(deadline);
+            this.schedules.put(retry.id, retry);
+            this.wheel.schedule(retry.id, deadline);
+        }
+    }
+
+    private void tick() {
+        try {
+            advance(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Failed to advance event status transitions", e);
+        }
+    }
+
+    /**
+     * 일시가 없으면 도달하지 않는 시각으로 본다.
+     */
+    private static long toSeconds(LocalDateTime dateTime) {
+        return dateTime == null ? Long.MAX_VALUE : dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static class Schedule {
+
+        private final int id;
+
+        private final EventStatus status;
+
+        private final long beginEnrollment;
+
+        private final long closeEnrollment;
+
+        private final long beginEvent;
+
+        private final long endEvent;
+
+        private final long deadline;    // 현재 상태가 끝나는 시각
+
+        private boolean fired;          // 타이머가 만료되어 전환하는 중 (lock 안에서만 사용)
+
+        Schedule(int id, EventStatus status, long beginEnrollment, long closeEnrollment, long beginEvent, long endEvent) {
+            this(id, status, beginEnrollment, closeEnrollment, beginEvent, endEvent,
+                    deadline(status, beginEnrollment, closeEnrollment, beginEvent, endEvent));
+        }
+
+        private Schedule(int id, EventStatus status, long beginEnrollment, long closeEnrollment, long beginEvent, long endEvent,
+                         long deadline) {
+            this.id = id;
+            this.status = status;
+            this.beginEnrollment = beginEnrollment;
+            this.closeEnrollment = closeEnrollment;
+            this.beginEvent = beginEvent;
+            this.endEvent = endEvent;
+            this.deadline = deadline;
+        }
+
+        Schedule withStatus(EventStatus status) {
+            return new Schedule(this.id, status, this.beginEnrollment, this.closeEnrollment, this.beginEvent, this.endEvent);
+        }
+
+        Schedule withDeadline(long deadline) {
+            return new Schedule(this.id, this.status, this.beginEnrollment, this.closeEnrollment, this.beginEvent, this.endEvent, deadline);
+        }
+
+        EventStatus statusAt(long seconds) {
+            if (this.endEvent <= seconds) {
+                return EventStatus.ENDED;
+            }
+            if (this.beginEvent <= seconds) {
+                return EventStatus.STARTED;
+            }
+            if (this.closeEnrollment <= seconds) {
+                return EventStatus.CLOSED_ENROLLMENT;
+            }
+            if (this.beginEnrollment <= seconds) {
+                return EventStatus.BEGAN_ENROLLMEND;
+            }
+            return EventStatus.PUBLISHED;
+        }
+
+        private static long deadline(EventStatus status, long beginEnrollment, long closeEnrollment, long beginEvent, long endEvent) {
+            switch (status) {
+                case PUBLISHED:
+                    return beginEnrollment;
+                case BEGAN_ENROLLMEND:
+                    return closeEnrollment;
+                case CLOSED_ENROLLMENT:
+                    return beginEvent;
+                case STARTED:
+                    return endEvent;
+                default:
+                    return Long.MAX_VALUE;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package me.hycho.demorestapi.events;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import org.springframework.hateoas.server.core.Relation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 이벤트 목록 조회용 projection
+ * 엔티티 대신 응답에 필요한 컬럼만 조회해서 영속성 컨텍스트에 올리지 않는다. (스냅샷, 프록시 없음)
+ * JSON 형태는 Event와 같다. (manger는 id만)
+ * 생성자 파라미터 순서는 EventSummaryRepositoryImpl의 select 순서와 같아야 한다.
+ */
+@Getter
+@AllArgsConstructor
+@Relation(collectionRelation = "eventList")
+public class EventSummary {
+
+    private final Integer id;
+    private final String name;
+    private final String description;
+    private final LocalDateTime beginEnrollmentDateTime;
+    private final LocalDateTime closeEnrollmentDateTime;
+    private final LocalDateTime beginEventDateTime;
+    private final LocalDateTime endEventDateTime;
+    private final String location;
+    private final int basePrice;
+    private final int maxPrice;
+    private final int limitOfEnrollment;
+    private final boolean offline;
+    private final boolean free;
+    private final EventStatus eventStatus;
+    @JsonProperty("manger")
+    @JsonSerialize(using = ManagerIdSerializer.class)
+    private final Integer mangerId;
+    @JsonIgnore
+    private final Integer version;
+
+    /**
+     * manger id를 Event.manger(AccountSerializer)와 같은 {"id": ...} 형태로 출력
+     */
+    public static class ManagerIdSerializer extends JsonSerializer<Integer> {
+
+        @Override
+        public void serialize(Integer mangerId, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartObject();
+            gen.writeNumberField("id", mangerId);
+            gen.writeEndObject();
+        }
+
+    }
+
+}
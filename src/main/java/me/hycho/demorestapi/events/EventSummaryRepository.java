@@ -0,0 +1,24 @@
+package me.hycho.demorestapi.events;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * 이벤트 목록 projection 조회 (EventRepository fragment)
+ */
+public interface EventSummaryRepository {
+
+    /**
+     * @param spec 검색 조건 (null이면 전체)
+     */
+    Page<EventSummary> findSummaries(Specification<Event> spec, Pageable pageable);
+
+    /**
+     * count 쿼리 없이 조회 (size + 1 건을 조회해서 다음 페이지 여부만 판단한다)
+     * @param spec 검색 조건 (null이면 전체)
+     */
+    Slice<EventSummary> findSummarySlice(Specification<Event> spec, Pageable pageable);
+
+}
@@ -0,0 +1,116 @@
+package me.hycho.demorestapi.events;
+
+import static org.hibernate.jpa.QueryHints.HINT_FLUSH_MODE;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.FlushMode;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * EventSummary를 생성자 표현식(select new)으로 조회
+ * 읽기 전용 트랜잭션이고 flush mode를 MANUAL로 지정해서 조회 전에 영속성 컨텍스트를 flush하지 않는다.
+ * 정렬 값이 같은 이벤트끼리 페이지마다 순서가 바뀌지 않도록 항상 id를 마지막 정렬 조건으로 붙인다.
+ */
+@Transactional(readOnly = true)
+public class EventSummaryRepositoryImpl implements EventSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<EventSummary> findSummaries(Specification<Event> spec, Pageable pageable) {
+        List<EventSummary> content = select(spec, pageable, pageable.isPaged() ? pageable.getPageSize() : -1);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public Slice<EventSummary> findSummarySlice(Specification<Event> spec, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(select(spec, pageable, -1), pageable, false);
+        }
+
+        List<EventSummary> content = select(spec, pageable, pageable.getPageSize() + 1);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    private List<EventSummary> select(Specification<Event> spec, Pageable pageable, int maxResults) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventSummary> query = cb.createQuery(EventSummary.class);
+        Root<Event> event = query.from(Event.class);
+
+        query.select(cb.construct(EventSummary.class,
+                event.get("id"),
+                event.get("name"),
+                event.get("description"),
+                event.get("beginEnrollmentDateTime"),
+                event.get("closeEnrollmentDateTime"),
+                event.get("beginEventDateTime"),
+                event.get("endEventDateTime"),
+                event.get("location"),
+                event.get("basePrice"),
+                event.get("maxPrice"),
+                event.get("limitOfEnrollment"),
+                event.get("offline"),
+                event.get("free"),
+                event.get("eventStatus"),
+                event.get("manger").get("id"),  // 외래 키 컬럼 (join 없음)
+                event.get("version")));
+        if (spec != null) {
+            query.where(spec.toPredicate(event, query, cb));
+        }
+        query.orderBy(QueryUtils.toOrders(withIdTiebreaker(pageable.getSort()), event, cb));
+
+        TypedQuery<EventSummary> typedQuery = entityManager.createQuery(query)
+                .setHint(HINT_FLUSH_MODE, FlushMode.MANUAL);
+        if (maxResults >= 0) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(maxResults);
+        }
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * id가 없으면 마지막 정렬과 같은 방향으로 id를 붙인다. ((속성, id) 인덱스를 한 방향으로 읽을 수 있게)
+     */
+    private static Sort withIdTiebreaker(Sort sort) {
+        if (sort.getOrderFor("id") != null) {
+            return sort;
+        }
+        Sort.Direction direction = sort.stream().reduce((first, second) -> second)
+                .map(Sort.Order::getDirection)
+                .orElse(Sort.Direction.ASC);
+        return sort.and(Sort.by(direction, "id"));
+    }
+
+    private long count(Specification<Event> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Event> event = query.from(Event.class);
+
+        query.select(cb.count(event));
+        if (spec != null) {
+            query.where(spec.toPredicate(event, query, cb));
+        }
+        return entityManager.createQuery(query)
+                .setHint(HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .getSingleResult();
+    }
+
+}
@@ -0,0 +1,15 @@
+package me.hycho.demorestapi.events;
+
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+
+public class EventSummaryResource extends EntityModel<EventSummary> {
+
+    /**
+     * EventResource와 같은 self link
+     */
+    public EventSummaryResource(EventSummary eventSummary, Link... links) {
+        super(eventSummary, links);
+        add(EventLinks.eventLink(eventSummary.getId()));
+    }
+}
@@ -0,0 +1,176 @@
+package me.hycho.demorestapi.events;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+
+/**
+ * 구간 트리 (시작 시각 순으로 정렬한 treap, 노드마다 서브트리의 가장 늦은 종료 시각을 기록)
+ * 겹치는 구간 조회는 O(log n + k)이고, 추가/삭제는 O(log n)이다.
+ * 동기화하지 않으므로 EventIntervalIndex의 lock 안에서 사용한다.
+ */
+final class IntervalTree {
+
+    private Node root;
+
+    private int size;
+
+    /**
+     * 닫힌 구간 [start, end] 추가 (같은 start, id는 한 번만 추가해야 한다)
+     */
+    void insert(long start, long end, int id) {
+        this.root = insert(this.root, new Node(start, end, id, ThreadLocalRandom.current().nextInt()));
+        this.size++;
+    }
+
+    void remove(long start, int id) {
+        int before = this.size;
+        this.root = remove(this.root, start, id);
+        if (this.size == before) {
+            throw new IllegalStateException("interval not found: " + id);
+        }
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * [from, to]와 겹치는 (start <= to && end >= from) 구간의 id를 시작 시각, id 순으로 전달
+     */
+    void overlapping(long from, long to, IntConsumer consumer) {
+        overlapping(this.root, from, to, consumer);
+    }
+
+    private void overlapping(Node node, long from, long to, IntConsumer consumer) {
+        while (node != null && node.maxEnd >= from) {
+            overlapping(node.left, from, to, consumer);
+            if (node.start > to) {
+                return; // 이 노드와 오른쪽 서브트리는 모두 to 이후에 시작한다.
+            }
+            if (node.end >= from) {
+                consumer.accept(node.id);
+            }
+            node = node.right;
+        }
+    }
+
+    private Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+
+        if (compare(inserted.start, inserted.id, node) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                return rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                return rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node remove(Node node, long start, int id) {
+        if (node == null) {
+            return null;
+        }
+
+        int compare = compare(start, id, node);
+        if (compare == 0) {
+            this.size--;
+            return merge(node.left, node.right);
+        }
+        if (compare < 0) {
+            node.left = remove(node.left, start, id);
+        } else {
+            node.right = remove(node.right, start, id);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * left의 모든 구간이 right보다 앞에 있을 때 두 서브트리를 합친다.
+     */
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        node.update();
+        left.right = node;
+        left.update();
+        return left;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        node.update();
+        right.left = node;
+        right.update();
+        return right;
+    }
+
+    private static int compare(long start, int id, Node node) {
+        int compare = Long.compare(start, node.start);
+        return compare != 0 ? compare : Integer.compare(id, node.id);
+    }
+
+    private static class Node {
+
+        private final long start;
+
+        private final long end;
+
+        private final int id;
+
+        private final int priority;
+
+        private long maxEnd;
+
+        private Node left;
+
+        private Node right;
+
+        Node(long start, long end, int id, int priority) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            long max = this.end;
+            if (this.left != null && this.left.maxEnd > max) {
+                max = this.left.maxEnd;
+            }
+            if (this.right != null && this.right.maxEnd > max) {
+                max = this.right.maxEnd;
+            }
+            this.maxEnd = max;
+        }
+    }
+
+}
@@ -0,0 +1,181 @@
+package me.hycho.demorestapi.events;
+
+import java.util.Arrays;
+
+/**
+ * 계층형 타이밍 휠 (1초 단위, 단계마다 64칸)
+ * 0단계는 64초, 1단계는 64분(약 1시간), 2단계는 약 3일, 3단계는 약 194일, 4단계는 약 34년 범위를 담당하고,
+ * 시각이 상위 칸의 시작에 도달하면 그 칸의 타이머를 하위 단계로 내려보낸다. (추가 O(1), 1초 진행 O(1) + 만료된 타이머 수)
+ * 동기화하지 않으므로 EventStatusScheduler의 lock 안에서 사용한다.
+ */
+final class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+
+    private static final int SLOTS = 1 << SLOT_BITS;
+
+    private static final int LEVELS = 5;
+
+    /**
+     * 한 번에 이만큼 넘게 진행해야 하면 1초씩 진행하지 않고 전체 타이머를 다시 배치한다.
+     */
+    private static final long MAX_STEPS = 1 << 16;
+
+    private final Bucket[][] wheels = new Bucket[LEVELS][SLOTS];
+
+    private final Bucket overflow = new Bucket();
+
+    private final Bucket due = new Bucket();   // 추가할 때 이미 만료된 타이머
+
+    private long current;
+
+    private int size;
+
+    /**
+     * @param now 현재 시각 (초)
+     */
+    TimingWheel(long now) {
+        this.current = now;
+        for (Bucket[] wheel : this.wheels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheel[slot] = new Bucket();
+            }
+        }
+    }
+
+    /**
+     * deadline(초)에 만료되는 타이머 추가 (이미 지난 시각이면 다음 advance에서 바로 만료된다)
+     */
+    void schedule(int id, long deadline) {
+        if (deadline <= this.current) {
+            this.due.add(id, deadline);
+        } else {
+            place(id, deadline);
+        }
+        this.size++;
+    }
+
+    /**
+     * now(초)까지 진행하면서 만료된 타이머를 전달 (전달받는 쪽에서 schedule을 호출하면 안 된다)
+     */
+    void advance(long now, ExpiredTimer expired) {
+        fire(this.due, expired);
+
+        if (now - this.current > MAX_STEPS) {
+            Bucket all = new Bucket();
+            drain(this.overflow, all);
+            for (Bucket[] wheel : this.wheels) {
+                for (Bucket bucket : wheel) {
+                    drain(bucket, all);
+                }
+            }
+            this.current = now;
+            for (int i = 0; i < all.size; i++) {
+                if (all.deadlines[i] <= now) {
+                    this.size--;
+                    expired.expire(all.ids[i], all.deadlines[i]);
+                } else {
+                    place(all.ids[i], all.deadlines[i]);
+                }
+            }
+            return;
+        }
+
+        while (this.current < now) {
+            this.current++;
+            if ((this.current & mask(LEVELS)) == 0) {
+                cascade(this.overflow);
+            }
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((this.current & mask(level)) == 0) {
+                    cascade(this.wheels[level][slot(this.current, level)]);
+                }
+            }
+            fire(this.wheels[0][slot(this.current, 0)], expired);
+        }
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    private void place(int id, long deadline) {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if ((deadline >> shift) == (this.current >> shift)) {
+                this.wheels[level][slot(deadline, level)].add(id, deadline);
+                return;
+            }
+        }
+        this.overflow.add(id, deadline);
+    }
+
+    private void cascade(Bucket bucket) {
+        if (bucket.size == 0) {
+            return;
+        }
+        Bucket timers = new Bucket();
+        drain(bucket, timers);
+        for (int i = 0; i < timers.size; i++) {
+            place(timers.ids[i], timers.deadlines[i]);
+        }
+    }
+
+    private void fire(Bucket bucket, ExpiredTimer expired) {
+        int count = bucket.size;
+        for (int i = 0; i < count; i++) {
+            expired.expire(bucket.ids[i], bucket.deadlines[i]);
+        }
+        this.size -= count;
+        bucket.clear();
+    }
+
+    private static void drain(Bucket from, Bucket to) {
+        for (int i = 0; i < from.size; i++) {
+            to.add(from.ids[i], from.deadlines[i]);
+        }
+        from.clear();
+    }
+
+    private static int slot(long time, int level) {
+        return (int) (time >> (SLOT_BITS * level)) & (SLOTS - 1);
+    }
+
+    private static long mask(int level) {
+        return (1L << (SLOT_BITS * level)) - 1;
+    }
+
+    @FunctionalInterface
+    interface ExpiredTimer {
+        void expire(int id, long deadline);
+    }
+
+    private static class Bucket {
+
+        private int[] ids = new int[0];
+
+        private long[] deadlines = new long[0];
+
+        private int size;
+
+        void add(int id, long deadline) {
+            if (this.size == this.ids.length) {
+                int capacity = Math.max(4, this.size * 2);
+                this.ids = Arrays.copyOf(this.ids, capacity);
+                this.deadlines = Arrays.copyOf(this.deadlines, capacity);
+            }
+            this.ids[this.size] = id;
+            this.deadlines[this.size] = deadline;
+            this.size++;
+        }
+
+        void clear() {
+            this.size = 0;
+            if (this.ids.length > 64) {    // 몰렸던 칸의 배열은 반납
+                this.ids = new int[0];
+                this.deadlines = new long[0];
+            }
+        }
+    }
+
+}
@@ -1,12 +1,10 @@
 package me.hycho.demorestapi.index;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-
 import org.springframework.hateoas.RepresentationModel;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import me.hycho.demorestapi.events.EventController;
+import me.hycho.demorestapi.events.EventLinks;
 
 @RestController
 public class indexController {
@@ -15,7 +13,7 @@ public class indexController {
     public RepresentationModel index() {
 
         var index = new RepresentationModel();
-        index.add(linkTo(EventController.class).withRel("events"));
+        index.add(EventLinks.eventsLink().withRel("events"));
 
         return index;
     }
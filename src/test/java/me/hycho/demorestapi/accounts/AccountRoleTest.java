@@ -0,0 +1,42 @@
+package me.hycho.demorestapi.accounts;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+public class AccountRoleTest {
+
+    private final AccountRolesConverter converter = new AccountRolesConverter();
+
+    @Test
+    public void convertRoles() {
+        Integer mask = converter.convertToDatabaseColumn(Set.of(AccountRole.ADMIN, AccountRole.USER));
+
+        assertThat(mask).isEqualTo(AccountRole.ADMIN.getBit() | AccountRole.USER.getBit());
+        assertThat(converter.convertToEntityAttribute(mask)).containsExactlyInAnyOrder(AccountRole.ADMIN, AccountRole.USER);
+        assertThat(converter.convertToEntityAttribute(0)).isEmpty();
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute(1 << 30));
+    }
+
+    @Test
+    public void authoritiesAreShared() {
+        Account account = Account.builder()
+                .email("user@redsoft.co.kr")
+                .password("pass")
+                .roles(Set.of(AccountRole.USER))
+                .build();
+
+        AccountAdapter first = new AccountAdapter(account);
+        AccountAdapter second = new AccountAdapter(account);
+
+        assertThat(AuthorityUtils.authorityListToSet(first.getAuthorities())).containsExactly("ROLE_USER");
+        assertThat(first.getAuthorities()).isSameAs(second.getAuthorities());
+        assertThat(AccountRole.fromMask(AccountRole.USER.getBit())).isSameAs(AccountRole.fromMask(AccountRole.USER.getBit()));
+    }
+
+}
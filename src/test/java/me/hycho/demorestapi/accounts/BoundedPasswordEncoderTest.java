@@ -0,0 +1,82 @@
+package me.hycho.demorestapi.accounts;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    public void tearDown() {
+        this.passwordEncoder.shutdown();
+    }
+
+    @Test
+    @DisplayName("전용 스레드 풀에서 해시하고 시간을 기록")
+    public void encodeAndMatches() {
+        this.passwordEncoder = new BoundedPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder(), 1, 1, meterRegistry);
+
+        String encoded = this.passwordEncoder.encode("pass");
+
+        assertThat(encoded).startsWith("{bcrypt}");
+        assertThat(this.passwordEncoder.matches("pass", encoded)).isTrue();
+        assertThat(this.passwordEncoder.matches("wrong", encoded)).isFalse();
+        assertThat(this.meterRegistry.get("password.encoder").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 기다리지 않고 PasswordEncoderBusyException")
+    public void rejectWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        this.passwordEncoder = new BoundedPasswordEncoder(blocking, 1, 1, meterRegistry);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> this.passwordEncoder.matches("a", "a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> this.passwordEncoder.encode("b"));
+        while (this.meterRegistry.get("executor.queued").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> this.passwordEncoder.matches("c", "c"))
+                .isInstanceOf(PasswordEncoderBusyException.class);
+        assertThat(this.meterRegistry.get("password.encoder.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("b");
+    }
+
+}
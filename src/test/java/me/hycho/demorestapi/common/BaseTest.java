@@ -1,5 +1,9 @@
 package me.hycho.demorestapi.common;
 
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.junit.jupiter.api.Disabled;
@@ -9,6 +13,7 @@ import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDoc
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -28,5 +33,38 @@ public class BaseTest {
 
     @Autowired
     protected ModelMapper modelMapper;
-    
+
+    @Autowired
+    protected AppProperties appProperties;
+
+    /**
+     * 일반 사용자(my-app.user-username)의 access token
+     */
+    protected String getAccessToken() throws Exception {
+        return getAccessToken(appProperties.getUserUsername(), appProperties.getUserPassword());
+    }
+
+    protected String getAccessToken(String username, String password) throws Exception {
+        String responseBody = this.mockMvc.perform(post("/oauth/token")
+                        .with(httpBasic(appProperties.getClientId(), appProperties.getClientSecret()))
+                        .param("username", username)
+                        .param("password", password)
+                        .param("grant_type", "password")
+                    )
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+        return new Jackson2JsonParser().parseMap(responseBody).get("access_token").toString();
+    }
+
+    /**
+     * 일반 사용자의 Authorization 헤더 값
+     */
+    protected String getBearerToken() throws Exception {
+        return "Bearer " + getAccessToken();
+    }
+
+    protected String getBearerToken(String username, String password) throws Exception {
+        return "Bearer " + getAccessToken(username, password);
+    }
+
 }
@@ -0,0 +1,62 @@
+package me.hycho.demorestapi.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import me.hycho.demorestapi.configs.HibernateRequestStatistics;
+
+/**
+ * 요청 하나의 Hibernate 작업 수 검증 (N+1 회귀 방지)
+ * 다른 스레드의 작업이 섞이지 않도록 전역 Statistics 대신 요청별 통계(HibernateRequestStatistics)를 사용한다.
+ * <pre>
+ * mockMvc.perform(get("/api/events"))
+ *         .andExpect(StatementBudget.statements(1))
+ *         .andExpect(StatementBudget.entityLoads(0));
+ * </pre>
+ */
+public final class StatementBudget {
+
+    private StatementBudget() {
+    }
+
+    /**
+     * 준비한 JDBC Statement 수가 정확히 expected
+     */
+    public static ResultMatcher statements(int expected) {
+        return result -> assertThat(statistics(result).getStatements())
+                .as("statements of %s", describe(result))
+                .isEqualTo(expected);
+    }
+
+    /**
+     * 로딩한 엔티티 수가 정확히 expected
+     */
+    public static ResultMatcher entityLoads(int expected) {
+        return result -> assertThat(statistics(result).getEntityLoads())
+                .as("entity loads of %s", describe(result))
+                .isEqualTo(expected);
+    }
+
+    /**
+     * 초기화한 컬렉션 수가 정확히 expected
+     */
+    public static ResultMatcher collectionFetches(int expected) {
+        return result -> assertThat(statistics(result).getCollectionFetches())
+                .as("collection fetches of %s", describe(result))
+                .isEqualTo(expected);
+    }
+
+    private static HibernateRequestStatistics statistics(MvcResult result) {
+        Object statistics = result.getRequest().getAttribute(HibernateRequestStatistics.ATTRIBUTE);
+        assertThat(statistics).as("Hibernate request statistics (HibernateStatisticsFilter)").isNotNull();
+        return (HibernateRequestStatistics) statistics;
+    }
+
+    private static String describe(MvcResult result) {
+        return result.getRequest().getMethod() + " " + result.getRequest().getRequestURI()
+                + " (" + result.getRequest().getAttribute(HibernateRequestStatistics.ATTRIBUTE) + ")";
+    }
+
+}
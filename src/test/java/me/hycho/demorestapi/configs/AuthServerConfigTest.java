@@ -11,7 +11,6 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import me.hycho.demorestapi.accounts.AccountService;
-import me.hycho.demorestapi.common.AppProperties;
 import me.hycho.demorestapi.common.BaseTest;
 
 public class AuthServerConfigTest extends BaseTest {
@@ -19,9 +18,6 @@ public class AuthServerConfigTest extends BaseTest {
     @Autowired
     AccountService accountService;
 
-    @Autowired
-    AppProperties appProperties;
-
     @Test
     @DisplayName("인증 토큰을 발급 받는 테스트")
     public void getAuthToken() throws Exception {
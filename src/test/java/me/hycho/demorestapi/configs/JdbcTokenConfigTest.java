@@ -0,0 +1,79 @@
+package me.hycho.demorestapi.configs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.test.context.TestPropertySource;
+
+import me.hycho.demorestapi.common.BaseTest;
+
+@TestPropertySource(properties = "my-app.token-store=jdbc")
+public class JdbcTokenConfigTest extends BaseTest {
+
+    @Autowired
+    TokenStore tokenStore;
+
+    @Autowired
+    ExpiringJdbcTokenStore jdbcTokenStore;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("DB에 저장된 토큰으로 인증하고, 다음 요청부터는 캐시에서 조회")
+    public void authenticateWithJdbcTokenStore() throws Exception {
+        assertThat(this.tokenStore).isInstanceOf(CachingTokenStore.class);
+
+        // Given
+        String accessToken = getAccessToken();
+        ((CachingTokenStore) this.tokenStore).getCache().invalidateAll();
+        long hitCount = ((CachingTokenStore) this.tokenStore).getCache().stats().hitCount();
+
+        // When & Then
+        for (int i = 0; i < 2; i++) {
+            this.mockMvc.perform(get("/api/events")
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("_links.create-event").exists());
+        }
+
+        Integer stored = this.jdbcTemplate.queryForObject(
+                "select count(*) from oauth_access_token where expiration is not null", Integer.class);
+        assertThat(stored).isGreaterThan(0);
+        assertThat(((CachingTokenStore) this.tokenStore).getCache().stats().hitCount()).isGreaterThan(hitCount);
+    }
+
+    @Test
+    @DisplayName("만료된 토큰을 모아서 삭제")
+    public void deleteExpiredTokens() throws Exception {
+        // Given
+        getAccessToken();
+        Timestamp expired = Timestamp.from(Instant.now().minus(1, ChronoUnit.HOURS));
+        for (int i = 0; i < 3; i++) {
+            this.jdbcTemplate.update("insert into oauth_access_token (token_id, authentication_id, expiration) values (?, ?, ?)",
+                    "expired-" + i, "expired-" + i, expired);
+        }
+        this.jdbcTemplate.update("insert into oauth_refresh_token (token_id, expiration) values (?, ?)", "expired", expired);
+        long before = this.jdbcTokenStore.countAccessTokens();
+
+        // When
+        int deleted = this.jdbcTokenStore.deleteExpiredTokens(Instant.now());
+
+        // Then
+        assertThat(deleted).isEqualTo(4);
+        assertThat(this.jdbcTokenStore.countAccessTokens()).isEqualTo(before - 3);
+    }
+
+}
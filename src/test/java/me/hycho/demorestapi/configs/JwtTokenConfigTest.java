@@ -0,0 +1,79 @@
+package me.hycho.demorestapi.configs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+import org.springframework.test.context.TestPropertySource;
+
+import me.hycho.demorestapi.accounts.AccountAdapter;
+import me.hycho.demorestapi.accounts.AccountRepository;
+import me.hycho.demorestapi.accounts.AccountUserAuthenticationConverter;
+import me.hycho.demorestapi.common.BaseTest;
+import me.hycho.demorestapi.events.EventDto;
+
+@TestPropertySource(properties = {
+    "my-app.token-store=jwt",
+    "my-app.jwt-signing-key=test-signing-key-for-jwt-token-config"
+})
+public class JwtTokenConfigTest extends BaseTest {
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TokenStore tokenStore;
+
+    @Test
+    @DisplayName("JWT 토큰을 발급 받아서 토큰 저장소 없이 인증")
+    public void createEventWithJwt() throws Exception {
+        assertThat(this.tokenStore).isInstanceOf(JwtTokenStore.class);
+
+        // Given
+        String accessToken = getAccessToken();
+        Integer userId = this.accountRepository.findByEmail(appProperties.getUserUsername()).get().getId();
+
+        Map<String, Object> claims = this.tokenStore.readAccessToken(accessToken).getAdditionalInformation();
+        assertThat(claims.get(AccountUserAuthenticationConverter.ACCOUNT_ID)).isEqualTo(userId);
+        Object principal = this.tokenStore.readAuthentication(accessToken).getPrincipal();
+        assertThat(principal).isInstanceOf(AccountAdapter.class);
+        assertThat(((AccountAdapter) principal).getAccount().getId()).isEqualTo(userId);
+
+        EventDto eventDto = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2020, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2020, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .build();
+
+        // When & Then
+        this.mockMvc.perform(post("/api/events")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(eventDto))
+                    )
+                    .andDo(print())
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("manger.id").value(userId))
+                    ;
+    }
+
+}
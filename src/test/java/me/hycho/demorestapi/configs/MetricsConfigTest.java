@@ -0,0 +1,70 @@
+package me.hycho.demorestapi.configs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import me.hycho.demorestapi.common.BaseTest;
+
+public class MetricsConfigTest extends BaseTest {
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("핸들러, 저장소, 직렬화, 토큰 저장소 시간을 Prometheus 형식으로 조회")
+    public void prometheus() throws Exception {
+        String bearerToken = "Bearer " + getAccessToken(appProperties.getAdminUsername(), appProperties.getAdminPassword());
+        this.mockMvc.perform(get("/api/events")).andExpect(status().isOk());
+
+        this.mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("quantile=\"0.999\"")))
+                .andExpect(content().string(containsString("uri=\"/api/events\"")))
+                .andExpect(content().string(containsString("uri=\"/oauth/token\"")))
+                .andExpect(content().string(containsString("repository_invocations_seconds_count{method=\"findSummaries\",repository=\"EventRepository\"")))
+                .andExpect(content().string(containsString("http_server_serialization_seconds_count{type=\"PagedModel\"")))
+                .andExpect(content().string(containsString("oauth_token_store_seconds_count{method=\"storeAccessToken\"")))
+                .andExpect(content().string(containsString("http_server_allocation_bytes_count{handler=\"EventController.queryEvents\"")));
+    }
+
+    @Test
+    @DisplayName("요청별 메모리 할당량을 핸들러 메소드별로 기록")
+    public void allocation() throws Exception {
+        DistributionSummary summary = this.meterRegistry.find("http.server.allocation")
+                .tag("handler", "EventController.queryEvents").summary();
+        long count = summary == null ? 0 : summary.count();
+
+        this.mockMvc.perform(get("/api/events")).andExpect(status().isOk());
+
+        summary = this.meterRegistry.get("http.server.allocation").tag("handler", "EventController.queryEvents").summary();
+        assertThat(summary.count()).isEqualTo(count + 1);
+        assertThat(summary.max()).isGreaterThan(0);
+    }
+
+    @Test
+    @DisplayName("인증 없이 Prometheus 조회: 401 응답")
+    public void prometheus_Unauthorized() throws Exception {
+        this.mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("관리자가 아닌 사용자가 Prometheus 조회: 403 응답")
+    public void prometheus_Forbidden() throws Exception {
+        String bearerToken = "Bearer " + getAccessToken(appProperties.getUserUsername(), appProperties.getUserPassword());
+        this.mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isForbidden());
+    }
+
+}
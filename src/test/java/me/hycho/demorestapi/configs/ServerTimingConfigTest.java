@@ -0,0 +1,143 @@
+package me.hycho.demorestapi.configs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+
+import me.hycho.demorestapi.common.BaseTest;
+import me.hycho.demorestapi.events.Event;
+import me.hycho.demorestapi.events.EventRepository;
+import me.hycho.demorestapi.events.EventStatus;
+
+@TestPropertySource(properties = { "my-app.server-timing=true", "my-app.server-timing-log-threshold=0ms" })
+public class ServerTimingConfigTest extends BaseTest {
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Test
+    @DisplayName("이벤트 조회 응답에 단계별 처리 시간 헤더")
+    public void serverTiming() throws Exception {
+        // Given
+        Event event = this.eventRepository.save(Event.builder()
+                .name("server timing")
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2020, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2020, 11, 26, 14, 21))
+                .eventStatus(EventStatus.DRAFT)
+                .build());
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("server timing"))
+                .andExpect(header().string(ServerTimingResponse.SERVER_TIMING, allOf(
+                        startsWith("total;dur="),
+                        containsString("auth;desc=\"Security filter chain\";dur="),
+                        containsString("handler;desc="),
+                        containsString("write;desc=\"Response serialization\";dur="))));
+    }
+
+    @Test
+    @DisplayName("캐시에 없는 목록 조회는 SQL 실행 시간과 횟수 포함")
+    public void serverTimingWithDb() throws Exception {
+        this.mockMvc.perform(get("/api/events").param("count", "exact"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTimingResponse.SERVER_TIMING, containsString("db;desc=\"JDBC statements (")));
+    }
+
+    @Test
+    @DisplayName("스트리밍 응답도 헤더를 붙이고 본문은 그대로 전달")
+    public void serverTimingWithStreaming() throws Exception {
+        this.mockMvc.perform(get("/api/events/export").header(HttpHeaders.AUTHORIZATION, getBearerToken()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTimingResponse.SERVER_TIMING, startsWith("total;dur=")));
+    }
+
+    @Test
+    @DisplayName("non-blocking 쓰기로 바꾸면 헤더와 버퍼를 내보내고 감싼 스트림에 리스너를 넘긴다")
+    public void serverTimingWithWriteListener() throws Exception {
+        // Given
+        NonBlockingResponse response = new NonBlockingResponse();
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response, RequestTimings.open(), 1024);
+        WriteListener listener = new WriteListener() {
+            @Override
+            public void onWritePossible() {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+        };
+
+        try {
+            // When
+            ServletOutputStream outputStream = timedResponse.getOutputStream();
+            outputStream.write("buffered ".getBytes(StandardCharsets.UTF_8));
+            outputStream.setWriteListener(listener);
+            outputStream.write("direct".getBytes(StandardCharsets.UTF_8));
+            timedResponse.finish();
+        } finally {
+            RequestTimings.close();
+        }
+
+        // Then
+        assertThat(response.getHeader(ServerTimingResponse.SERVER_TIMING)).startsWith("total;dur=");
+        assertThat(response.writeListener).isSameAs(listener);
+        assertThat(response.body.toString(StandardCharsets.UTF_8)).isEqualTo("buffered direct");
+    }
+
+    /**
+     * 리스너를 받는 스트림을 돌려주는 응답 (MockHttpServletResponse의 스트림은 non-blocking 쓰기를 지원하지 않는다)
+     */
+    static class NonBlockingResponse extends MockHttpServletResponse {
+
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        WriteListener writeListener;
+
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                NonBlockingResponse.this.writeListener = writeListener;
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return this.outputStream;
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package me.hycho.demorestapi.configs;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+
+import me.hycho.demorestapi.common.BaseTest;
+
+public class SqlObserverConfigTest extends BaseTest {
+
+    @Test
+    @DisplayName("가장 느린 SQL과 fingerprint별 통계 조회")
+    public void slowQueries() throws Exception {
+        String bearerToken = "Bearer " + getAccessToken(appProperties.getAdminUsername(), appProperties.getAdminPassword());
+        this.mockMvc.perform(delete("/actuator/slowqueries").header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isNoContent());
+
+        this.mockMvc.perform(get("/api/events").param("count", "exact")).andExpect(status().isOk());
+
+        this.mockMvc.perform(get("/actuator/slowqueries").header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("slowest[0].sql").exists())
+                .andExpect(jsonPath("slowest[0].fingerprint").exists())
+                .andExpect(jsonPath("slowest[0].durationMs").exists())
+                .andExpect(jsonPath("slowest[*].caller", hasItem("EventController.queryEvents")))
+                .andExpect(jsonPath("fingerprints[0].count", greaterThan(0)));
+    }
+
+    @Test
+    @DisplayName("limit이 0 이하면 fingerprint별 통계 없이 응답")
+    public void slowQueriesWithoutFingerprints() throws Exception {
+        String bearerToken = "Bearer " + getAccessToken(appProperties.getAdminUsername(), appProperties.getAdminPassword());
+        this.mockMvc.perform(get("/api/events").param("count", "exact")).andExpect(status().isOk());
+
+        for (String limit : new String[] { "0", "-1" }) {
+            this.mockMvc.perform(get("/actuator/slowqueries").param("limit", limit).header(HttpHeaders.AUTHORIZATION, bearerToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("fingerprints").isEmpty());
+        }
+    }
+
+}
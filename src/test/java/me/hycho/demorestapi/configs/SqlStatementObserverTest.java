@@ -0,0 +1,127 @@
+package me.hycho.demorestapi.configs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import me.hycho.demorestapi.common.AppProperties;
+
+public class SqlStatementObserverTest {
+
+    @Test
+    @DisplayName("문자열/숫자 값과 IN 목록을 정규화")
+    public void normalize() {
+        String sql = "select event0_.id as id1_1_\n    from event event0_\n    where event0_.name = 'it''s'\n"
+                + "      and event0_.base_price > 100 and event0_.id in (?, ?, ?)";
+
+        assertThat(SqlStatementObserver.normalize(sql)).isEqualTo("select event0_.id as id1_1_ from event event0_ "
+                + "where event0_.name = ? and event0_.base_price > ? and event0_.id in (?...)");
+    }
+
+    @Test
+    @DisplayName("표본 로그의 바인드 값에서 이메일, 비밀번호, 토큰은 가린다")
+    public void formatMasksSensitiveBinds() {
+        Map<Integer, Object> binds = new LinkedHashMap<>();
+        binds.put(1, "admin@redsoft.co.kr");
+        binds.put(2, "{bcrypt}$2a$10$abcdefghijklmnopqrstuv");
+        binds.put(3, 7);
+        binds.put(4, 1);
+        assertThat(SqlStatementObserver.format("insert into account (email, password, roles, id) values (?, ?, ?, ?)", binds))
+                .isEqualTo("[1=****, 2=****, 3=7, 4=1]");
+
+        binds.clear();
+        binds.put(1, "secret");
+        binds.put(2, "hidden");
+        binds.put(3, "token");
+        binds.put(4, 3);
+        assertThat(SqlStatementObserver.format("select account0_.id from account account0_ where account0_.email=? "
+                + "or account0_.email in (?, ?) and account0_.id=?", binds))
+                .isEqualTo("[1=****, 2=****, 3=****, 4=3]");
+
+        binds.clear();
+        binds.put(1, "it is me@somewhere");
+        binds.put(2, "강남역");
+        assertThat(SqlStatementObserver.format("update event set description=?, location=?", binds))
+                .isEqualTo("[1=****, 2=강남역]");
+    }
+
+    @Test
+    @DisplayName("가장 느린 SQL N개만 남기고, fingerprint별로 횟수와 행 수를 모은다")
+    public void slowestAndFingerprints() throws Exception {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setSlowQueryCapacity(10);
+        SqlStatementObserver observer = new SqlStatementObserver(appProperties);
+
+        int threads = 8;
+        int perThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    long nanos = (long) thread * perThread + i;
+                    observer.record("select * from event where id = " + i, nanos, 1, null);
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        List<Long> slowest = observer.slowest().stream().map(SlowStatement::getNanos).collect(Collectors.toList());
+        assertThat(slowest).containsExactly(7999L, 7998L, 7997L, 7996L, 7995L, 7994L, 7993L, 7992L, 7991L, 7990L);
+        assertThat(observer.slowest().get(0).getCaller()).startsWith("pool-");
+
+        List<SqlStatementObserver.FingerprintSummary> fingerprints = observer.fingerprints(10);
+        assertThat(fingerprints).hasSize(1);
+        assertThat(fingerprints.get(0).getFingerprint()).isEqualTo("select * from event where id = ?");
+        assertThat(fingerprints.get(0).getCount()).isEqualTo(threads * perThread);
+        assertThat(fingerprints.get(0).getRows()).isEqualTo(threads * perThread);
+    }
+
+    @Test
+    @DisplayName("fingerprint 종류가 너무 많으면 나머지는 하나로 모은다")
+    public void fingerprintLimit() {
+        SqlStatementObserver observer = new SqlStatementObserver(new AppProperties());
+        for (int i = 0; i < SqlStatementObserver.MAX_FINGERPRINTS + 10; i++) {
+            observer.record("select * from table_" + (char) ('a' + i % 26) + i / 26 + "x", 1, -1, null);
+        }
+
+        List<SqlStatementObserver.FingerprintSummary> fingerprints = observer.fingerprints(Integer.MAX_VALUE);
+        assertThat(fingerprints).hasSize(SqlStatementObserver.MAX_FINGERPRINTS);
+        assertThat(fingerprints).anyMatch(summary -> summary.getFingerprint().equals(SqlStatementObserver.OTHER_FINGERPRINT)
+                && summary.getCount() == 11);
+    }
+
+    @Test
+    @DisplayName("가득 찬 뒤에는 가장 빠른 항목보다 빠른 SQL은 버린다")
+    public void slowestThreshold() {
+        SlowestStatements slowest = new SlowestStatements(2);
+        slowest.offer(statement(5));
+        slowest.offer(statement(3));
+        assertThat(slowest.accepts(2)).isFalse();
+
+        slowest.offer(statement(4));
+
+        assertThat(slowest.snapshot()).extracting(SlowStatement::getNanos).containsExactly(5L, 4L);
+        assertThat(slowest.accepts(4)).isFalse();
+        assertThat(slowest.accepts(6)).isTrue();
+    }
+
+    private static SlowStatement statement(long nanos) {
+        return new SlowStatement("select 1", "select ?", nanos, 1, "test", Instant.now());
+    }
+
+}
@@ -0,0 +1,118 @@
+package me.hycho.demorestapi.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import me.hycho.demorestapi.accounts.Account;
+import me.hycho.demorestapi.accounts.AccountRepository;
+import me.hycho.demorestapi.common.BaseTest;
+
+public class EnrollmentServiceTest extends BaseTest {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    EnrollmentService enrollmentService;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Test
+    @DisplayName("동시에 신청해도 정원을 넘지 않고, 받은 신청은 모두 저장")
+    public void enrollConcurrently() throws Exception {
+        // Given
+        Event event = saveEvent(100);
+        List<Account> accounts = saveAccounts(300);
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        Map<EnrollmentResult, AtomicInteger> results = new ConcurrentHashMap<>();
+        List<Callable<Void>> tasks = accounts.stream()
+                .flatMap(account -> IntStream.range(0, 2).mapToObj(i -> account))   // 같은 계정이 두 번씩 신청
+                .map(account -> (Callable<Void>) () -> {
+                    start.await();
+                    EnrollmentResult result = this.enrollmentService.enroll(event, account, now);
+                    results.computeIfAbsent(result, r -> new AtomicInteger()).incrementAndGet();
+                    return null;
+                })
+                .collect(Collectors.toList());
+        List<Future<Void>> futures = tasks.stream().map(executor::submit).collect(Collectors.toList());
+        start.countDown();
+        for (Future<Void> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        this.enrollmentService.flush();
+
+        // Then
+        assertThat(results.get(EnrollmentResult.ACCEPTED)).hasValue(100);
+        assertThat(this.enrollmentService.remaining(event)).isZero();
+        assertThat(this.enrollmentRepository.countByEventId(event.getId())).isEqualTo(100);
+        assertThat(this.enrollmentRepository.findAccountIdsByEventId(event.getId())).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("정원을 늘리면 바로 추가로 신청할 수 있다")
+    public void updateLimit() {
+        // Given
+        Event event = saveEvent(1);
+        List<Account> accounts = saveAccounts(2);
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(this.enrollmentService.enroll(event, accounts.get(0), now)).isEqualTo(EnrollmentResult.ACCEPTED);
+        assertThat(this.enrollmentService.enroll(event, accounts.get(1), now)).isEqualTo(EnrollmentResult.FULL);
+
+        // When
+        event.setLimitOfEnrollment(2);
+        this.enrollmentService.updateLimit(event);
+
+        // Then
+        assertThat(this.enrollmentService.enroll(event, accounts.get(1), now)).isEqualTo(EnrollmentResult.ACCEPTED);
+    }
+
+    private Event saveEvent(int limitOfEnrollment) {
+        return this.eventRepository.save(Event.builder()
+                .name("ticket drop")
+                .description("concurrent enrollment")
+                .beginEnrollmentDateTime(LocalDateTime.now().minusDays(1))
+                .closeEnrollmentDateTime(LocalDateTime.now().plusDays(1))
+                .beginEventDateTime(LocalDateTime.now().plusDays(2))
+                .endEventDateTime(LocalDateTime.now().plusDays(3))
+                .limitOfEnrollment(limitOfEnrollment)
+                .eventStatus(EventStatus.BEGAN_ENROLLMEND)
+                .build());
+    }
+
+    private List<Account> saveAccounts(int count) {
+        return this.accountRepository.saveAll(IntStream.range(0, count)
+                .mapToObj(i -> Account.builder()
+                        .email("enrollment" + SEQUENCE.incrementAndGet() + "@email.com")
+                        .password("pass")
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+}
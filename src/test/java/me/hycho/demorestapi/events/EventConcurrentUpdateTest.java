@@ -0,0 +1,90 @@
+package me.hycho.demorestapi.events;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import me.hycho.demorestapi.common.BaseTest;
+
+/**
+ * 이벤트를 읽은 뒤 저장하기 전에 다른 요청이 먼저 수정한 경우
+ * 검증 단계에서 DB의 버전을 직접 올려서 저장 시 버전 충돌을 만든다.
+ * (@SpyBean EventValidator 때문에 다른 테스트와 애플리케이션 컨텍스트를 따로 만든다)
+ */
+public class EventConcurrentUpdateTest extends BaseTest {
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    EventValidator eventValidator;
+
+    Event event;
+
+    @BeforeEach
+    public void setUp() {
+        this.event = this.eventRepository.save(Event.builder()
+                .name("concurrent update")
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2020, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2020, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .eventStatus(EventStatus.DRAFT)
+                .build());
+
+        doAnswer(invocation -> {
+            this.jdbcTemplate.update("update event set version = version + 1 where id = ?", this.event.getId());
+            return invocation.callRealMethod();
+        }).when(this.eventValidator).validate(any(), any());
+    }
+
+    @Test
+    @DisplayName("If-Match 없이 수정하는 중에 다른 요청이 먼저 수정: 409 응답")
+    public void updateEvent409() throws Exception {
+        this.mockMvc.perform(put("/api/events/{id}", this.event.getId())
+                                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(updateDto()))
+                            )
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("If-Match로 수정하는 중에 다른 요청이 먼저 수정: 412 응답")
+    public void updateEvent412() throws Exception {
+        this.mockMvc.perform(put("/api/events/{id}", this.event.getId())
+                                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                                .header(HttpHeaders.IF_MATCH, "\"" + this.event.getVersion() + "\"")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(updateDto()))
+                            )
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    private EventDto updateDto() {
+        EventDto eventDto = this.modelMapper.map(this.event, EventDto.class);
+        eventDto.setName("Update Event");
+        return eventDto;
+    }
+
+}
@@ -1,5 +1,16 @@
 package me.hycho.demorestapi.events;
 
+import static me.hycho.demorestapi.common.StatementBudget.collectionFetches;
+import static me.hycho.demorestapi.common.StatementBudget.entityLoads;
+import static me.hycho.demorestapi.common.StatementBudget.statements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.restdocs.headers.HeaderDocumentation.headerWithName;
 import static org.springframework.restdocs.headers.HeaderDocumentation.requestHeaders;
 import static org.springframework.restdocs.headers.HeaderDocumentation.responseHeaders;
@@ -9,28 +20,39 @@ import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.docu
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
 import static org.springframework.restdocs.payload.PayloadDocumentation.requestFields;
 import static org.springframework.restdocs.payload.PayloadDocumentation.relaxedResponseFields;
-import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.requestParameters;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import javax.persistence.SequenceGenerator;
+
+import com.jayway.jsonpath.JsonPath;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
-import org.springframework.test.web.servlet.ResultActions;
 
-import me.hycho.demorestapi.common.AppProperties;
+import me.hycho.demorestapi.accounts.Account;
+import me.hycho.demorestapi.accounts.AccountRepository;
 import me.hycho.demorestapi.common.BaseTest;
 
 public class EventControllerTests extends BaseTest {
@@ -39,26 +61,19 @@ public class EventControllerTests extends BaseTest {
     EventRepository eventRepository;
 
     @Autowired
-    AppProperties appProperties;
+    EventCountCache eventCountCache;
 
-    private String getAccessToken() throws Exception {
-        ResultActions perform = this.mockMvc.perform(post("/oauth/token")
-                                                        .with(httpBasic(appProperties.getClientId(), appProperties.getClientSecret()))
-                                                        .param("username", appProperties.getUserUsername())
-                                                        .param("password", appProperties.getUserPassword())
-                                                        .param("grant_type", "password")
-                                                    );
+    @Autowired
+    CacheManager cacheManager;
 
-        var responseBody = perform.andReturn().getResponse().getContentAsString();
-        Jackson2JsonParser parser = new Jackson2JsonParser();
-        String access_token = parser.parseMap(responseBody).get("access_token").toString();
-        return access_token;
+    @Autowired
+    AccountRepository accountRepository;
 
-    }
+    @Autowired
+    EventSearchIndex eventSearchIndex;
 
-    private String getBearerToken() throws Exception {
-        return "Bearer " + getAccessToken();
-    }
+    @Autowired
+    EventIntervalIndex eventIntervalIndex;
 
     @Test
     @DisplayName("정상적으로 이벤트를 생성하는 테스트") // junit5
@@ -69,6 +84,7 @@ public class EventControllerTests extends BaseTest {
                 .beginEventDateTime(LocalDateTime.of(2020, 11, 25, 14, 40))
                 .endEventDateTime(LocalDateTime.of(2020, 11, 26, 14, 40)).basePrice(100).maxPrice(200)
                 .limitOfEnrollment(100).location("애플스토어 가로수길점").build();
+        reserveIds(1);
 
         mockMvc.perform(post("/api/events")
                         .header(HttpHeaders.AUTHORIZATION, getBearerToken())
@@ -82,6 +98,8 @@ public class EventControllerTests extends BaseTest {
                 .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaTypes.HAL_JSON_VALUE + ";charset=UTF-8"))
                 .andExpect(jsonPath("free").value(false)).andExpect(jsonPath("offline").value(true))
                 .andExpect(jsonPath("eventStatus").value(EventStatus.DRAFT.name()))
+                .andExpect(statements(1))
+                .andExpect(entityLoads(0))
                 .andDo(document("create-event", links(
                                                     linkWithRel("self").description("link to self"),
                                                     linkWithRel("query-events").description("link to query events"),
@@ -251,11 +269,556 @@ public class EventControllerTests extends BaseTest {
 
     }
 
+    @Test
+    @DisplayName("전체 개수 없이 이벤트 목록 조회")
+    public void queryEventsWithoutCount() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events")
+                    .param("page", "1")
+                    .param("size", "10")
+                    .param("sort", "name,DESC")
+                    .param("count", "none")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").exists())
+                .andExpect(jsonPath("_links.last").doesNotExist())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("query-events-slice"))
+                ;
+    }
+
+    @Test
+    @DisplayName("이벤트 목록 조회는 엔티티를 로딩하지 않고 페이지당 쿼리 1번")
+    public void queryEventsWithSingleStatement() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events")
+                    .param("page", "1")
+                    .param("size", "10")
+                    .param("count", "none")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[0].manger").hasJsonPath())
+                .andExpect(jsonPath("_embedded.eventList[0].version").doesNotExist())
+                .andExpect(statements(1))
+                .andExpect(entityLoads(0));
+    }
+
+    @Test
+    @DisplayName("캐시된 전체 개수로 이벤트 목록 조회")
+    public void queryEventsWithCachedCount() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+        long total = this.eventRepository.count();
+        this.eventCountCache.invalidate();
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events")
+                    .param("page", "0")
+                    .param("size", "10")
+                    .param("count", "cached")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(total))
+                .andExpect(jsonPath("_links.next").exists())
+                ;
+    }
+
+    @Test
+    @DisplayName("조건으로 이벤트 목록 조회")
+    public void queryEventsWithFilter() throws Exception {
+        // Given
+        Account manager = this.accountRepository.findByEmail(appProperties.getAdminUsername()).get();
+        IntStream.range(0, 10).forEach(index -> {
+            Event event = buildEvent(index);
+            event.setFree(true);
+            event.setBasePrice(0);
+            event.setMaxPrice(0);
+            event.setEventStatus(index % 2 == 0 ? EventStatus.PUBLISHED : EventStatus.DRAFT);
+            event.setManger(manager);
+            this.eventRepository.save(event);
+        });
+        IntStream.range(0, 10).forEach(this::generateEvent);
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events")
+                    .param("eventStatus", "PUBLISHED")
+                    .param("free", "true")
+                    .param("maxPrice", "0")
+                    .param("beginAfter", "2020-11-25T00:00:00")
+                    .param("beginBefore", "2020-11-26T00:00:00")
+                    .param("manager", manager.getId().toString())
+                    .param("size", "100")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(greaterThanOrEqualTo(5)))
+                .andExpect(jsonPath("_embedded.eventList[*].eventStatus").value(everyItem(is("PUBLISHED"))))
+                .andExpect(jsonPath("_embedded.eventList[*].free").value(everyItem(is(true))))
+                .andExpect(jsonPath("_embedded.eventList[*].basePrice").value(everyItem(is(0))))
+                .andExpect(jsonPath("_embedded.eventList[*].manger.id").value(everyItem(is(manager.getId()))))
+                .andDo(document("query-events-filter",
+                    requestParameters(
+                        parameterWithName("eventStatus").description("이벤트 상태 (DRAFT, PUBLISHED, BEGAN_ENROLLMEND, CLOSED_ENROLLMENT, STARTED, ENDED)"),
+                        parameterWithName("free").description("무료 이벤트 여부"),
+                        parameterWithName("offline").description("오프라인 이벤트 여부").optional(),
+                        parameterWithName("minPrice").description("최소 기본 가격 (basePrice >= minPrice)").optional(),
+                        parameterWithName("maxPrice").description("최대 기본 가격 (basePrice <= maxPrice)"),
+                        parameterWithName("beginAfter").description("이벤트 시작 일시 하한 (포함, ISO 8601)"),
+                        parameterWithName("beginBefore").description("이벤트 시작 일시 상한 (미포함, ISO 8601)"),
+                        parameterWithName("manager").description("이벤트 관리자 id"),
+                        parameterWithName("size").description("페이지 크기")
+                    )
+                ))
+                ;
+    }
+
+    @Test
+    @DisplayName("조건이 있으면 cached 방식도 조건에 맞는 전체 개수로 응답")
+    public void queryEventsWithFilterAndCachedCount() throws Exception {
+        // Given
+        IntStream.range(0, 10).forEach(this::generateEvent);
+        this.eventCountCache.invalidate();
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events")
+                    .param("eventStatus", "ENDED")
+                    .param("count", "cached")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(0))
+                ;
+    }
+
+    @Test
+    @DisplayName("정렬 값이 같은 이벤트는 id 순서로 페이지를 나눈다")
+    public void queryEventsWithTiedSort() throws Exception {
+        // Given
+        LocalDateTime beginEventDateTime = LocalDateTime.of(2031, 1, 1, 10, 0);
+        List<Integer> ids = IntStream.range(0, 4).mapToObj(index -> {
+            Event event = buildEvent(index);
+            event.setName("tied event");
+            event.setBeginEventDateTime(beginEventDateTime);
+            event.setEndEventDateTime(beginEventDateTime.plusDays(1));
+            return this.eventRepository.save(event).getId();
+        }).sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+
+        // When & Then
+        for (int page = 0; page < 2; page++) {
+            this.mockMvc.perform(get("/api/events")
+                        .param("beginAfter", "2031-01-01T00:00:00")
+                        .param("beginBefore", "2031-01-02T00:00:00")
+                        .param("sort", "name,DESC")
+                        .param("size", "2")
+                        .param("page", String.valueOf(page))
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("_embedded.eventList[*].id").value(contains(ids.get(page * 2), ids.get(page * 2 + 1))));
+        }
+    }
+
+    @Test
+    @DisplayName("인덱스가 없는 속성이나 여러 속성으로 정렬: 400 응답")
+    public void queryEventsWithUnsupportedSort() throws Exception {
+        this.mockMvc.perform(get("/api/events").param("sort", "location"))
+                .andExpect(status().isBadRequest());
+        this.mockMvc.perform(get("/api/events").param("sort", "name").param("sort", "basePrice,DESC"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 count 방식으로 이벤트 목록 조회: 400 응답")
+    public void queryEventsWithWrongCount() throws Exception {
+        this.mockMvc.perform(get("/api/events").param("count", "approximate"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("커서 기반 이벤트 목록 조회")
+    public void queryEventsWithCursor() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // When & Then
+        String responseBody = this.mockMvc.perform(get("/api/events")
+                    .param("after", "")
+                    .param("size", "10")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").doesNotExist())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andExpect(statements(1))
+                .andExpect(entityLoads(11))     // 다음 페이지 확인용 1건 포함
+                .andDo(document("query-events-keyset"))
+                .andReturn().getResponse().getContentAsString();
+
+        String next = JsonPath.read(responseBody, "_links.next.href");
+        responseBody = this.mockMvc.perform(get(next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").exists())
+                .andExpect(statements(1))
+                .andExpect(entityLoads(11))
+                .andReturn().getResponse().getContentAsString();
+
+        String prev = JsonPath.read(responseBody, "_links.prev.href");
+        this.mockMvc.perform(get(prev))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(statements(1))
+                .andExpect(entityLoads(10));
+    }
+
+    @Test
+    @DisplayName("잘못된 커서로 이벤트 목록 조회: 400 응답")
+    public void queryEventsWithCursor_Bad_Request() throws Exception {
+        this.mockMvc.perform(get("/api/events").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("커서 기반 이벤트 목록 조회에 필터 파라미터 사용: 400 응답")
+    public void queryEventsWithCursorAndFilter_Bad_Request() throws Exception {
+        this.mockMvc.perform(get("/api/events").param("after", "").param("eventStatus", "PUBLISHED"))
+                .andExpect(status().isBadRequest());
+        this.mockMvc.perform(get("/api/events").param("before", "").param("free", "true"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("이벤트 일괄 생성")
+    public void createEvents() throws Exception {
+        // Given
+        List<EventDto> eventDtos = IntStream.range(0, 3)
+                .mapToObj(i -> this.modelMapper.map(buildEvent(i), EventDto.class))
+                .collect(Collectors.toList());
+        reserveIds(3);
+        long before = this.eventRepository.count();
+
+        // When & Then
+        this.mockMvc.perform(post("/api/events/batch")
+                    .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaTypes.HAL_JSON)
+                    .content(this.objectMapper.writeValueAsString(eventDtos))
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.results.length()").value(3))
+                .andExpect(jsonPath("_embedded.results[0].index").value(0))
+                .andExpect(jsonPath("_embedded.results[0].id").exists())
+                .andExpect(jsonPath("_embedded.results[0]._links.self").exists())
+                .andExpect(jsonPath("_links.query-events").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andExpect(statements(1))
+                .andExpect(entityLoads(0))
+                .andDo(document("create-events-batch"))
+                ;
+
+        assertThat(this.eventRepository.count()).isEqualTo(before + 3);
+    }
+
+    @Test
+    @DisplayName("이벤트 일괄 생성: 검증에 실패한 항목만 제외하고 207 응답")
+    public void createEvents_Multi_Status() throws Exception {
+        // Given
+        EventDto valid = this.modelMapper.map(buildEvent(0), EventDto.class);
+        EventDto wrongPrices = this.modelMapper.map(buildEvent(1), EventDto.class);
+        wrongPrices.setBasePrice(20000);
+        EventDto empty = new EventDto();
+        long before = this.eventRepository.count();
+
+        // When & Then
+        this.mockMvc.perform(post("/api/events/batch")
+                    .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(this.objectMapper.writeValueAsString(List.of(valid, wrongPrices, empty)))
+                )
+                .andDo(print())
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("_embedded.results[0].id").exists())
+                .andExpect(jsonPath("_embedded.results[1].id").doesNotExist())
+                .andExpect(jsonPath("_embedded.results[1].errors[0].code").value("wrongPrices"))
+                .andExpect(jsonPath("_embedded.results[2].errors[0].objectName").exists())
+                ;
+
+        assertThat(this.eventRepository.count()).isEqualTo(before + 1);
+    }
+
+    @Test
+    @DisplayName("빈 목록으로 이벤트 일괄 생성: 400 응답")
+    public void createEvents_Bad_Request_Empty() throws Exception {
+        this.mockMvc.perform(post("/api/events/batch")
+                    .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[]")
+                )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("이벤트 검색")
+    public void searchEvents() throws Exception {
+        // Given
+        IntStream.range(0, 5).forEach(index -> {
+            Event event = buildEvent(index);
+            event.setName("webflux " + index);
+            event.setDescription(index == 3 ? "webflux with reactor webflux" : "test event");
+            this.eventSearchIndex.index(this.eventRepository.save(event));
+        });
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/search")
+                    .param("q", "webflux reactor")
+                    .param("page", "0")
+                    .param("size", "3")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(greaterThanOrEqualTo(5)))
+                .andExpect(jsonPath("_embedded.eventList.length()").value(3))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("webflux 3"))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andExpect(statements(1))
+                .andExpect(entityLoads(3))
+                .andDo(document("search-events",
+                    requestParameters(
+                        parameterWithName("q").description("검색어 (이름, 설명에 단어 중 하나라도 포함한 이벤트를 점수 순으로 조회)"),
+                        parameterWithName("page").description("페이지 번호 (0부터 시작)"),
+                        parameterWithName("size").description("페이지 크기")
+                    )
+                ))
+                ;
+    }
+
+    @Test
+    @DisplayName("수정한 이벤트는 바로 새 내용으로 검색")
+    public void searchUpdatedEvent() throws Exception {
+        // Given
+        Event event = generateEvent(100);
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        eventDto.setDescription("graphql subscription");
+
+        // When
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(this.objectMapper.writeValueAsString(eventDto))
+                )
+                .andExpect(status().isOk());
+
+        // Then
+        this.mockMvc.perform(get("/api/events/search").param("q", "graphql").param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[*].id").value(hasItem(event.getId())));
+    }
+
+    @Test
+    @DisplayName("DB에서 삭제된 이벤트는 검색, 기간 조회 결과에서 빼고 인덱스에서도 지운다")
+    public void searchDeletedEvent() throws Exception {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2033, 7, 1, 10, 0);
+        List<Event> events = IntStream.range(0, 3).mapToObj(index -> {
+            Event event = buildEvent(index);
+            event.setName("vanished " + index);
+            event.setBeginEventDateTime(base.plusHours(index));
+            event.setEndEventDateTime(base.plusHours(index + 1));
+            event = this.eventRepository.save(event);
+            this.eventSearchIndex.index(event);
+            this.eventIntervalIndex.index(event);
+            return event;
+        }).collect(Collectors.toList());
+        this.eventRepository.deleteById(events.get(1).getId());     // 인덱스를 거치지 않고 삭제
+
+        // When & Then
+        for (int i = 0; i < 2; i++) {
+            this.mockMvc.perform(get("/api/events/search").param("q", "vanished"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("page.totalElements").value(2))
+                    .andExpect(jsonPath("_embedded.eventList[*].id").value(not(hasItem(events.get(1).getId()))));
+            this.mockMvc.perform(get("/api/events/overlapping")
+                        .param("from", "2033-07-01T00:00:00")
+                        .param("to", "2033-07-01T23:59:59")
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("page.totalElements").value(2));
+        }
+    }
+
+    @Test
+    @DisplayName("검색어 없이 이벤트 검색: 400 응답")
+    public void searchEvents_Bad_Request() throws Exception {
+        this.mockMvc.perform(get("/api/events/search").param("q", " - "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("기간이 겹치는 이벤트 조회")
+    public void queryOverlappingEvents() throws Exception {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2031, 3, 1, 10, 0);
+        IntStream.range(0, 10).forEach(index -> {
+            Event event = buildEvent(index);
+            event.setBeginEventDateTime(base.plusDays(index));
+            event.setEndEventDateTime(base.plusDays(index).plusHours(30));
+            this.eventIntervalIndex.index(this.eventRepository.save(event));
+        });
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/overlapping")
+                    .param("from", "2031-03-04T00:00:00")
+                    .param("to", "2031-03-05T23:59:59")
+                    .param("size", "2")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(3))
+                .andExpect(jsonPath("_embedded.eventList[0].beginEventDateTime").value("2031-03-03T10:00:00"))
+                .andExpect(jsonPath("_embedded.eventList[1].beginEventDateTime").value("2031-03-04T10:00:00"))
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andExpect(statements(1))
+                .andExpect(entityLoads(2))
+                .andDo(document("query-events-overlapping",
+                    requestParameters(
+                        parameterWithName("from").description("조회 기간 시작 일시 (ISO 8601)"),
+                        parameterWithName("to").description("조회 기간 종료 일시 (ISO 8601)"),
+                        parameterWithName("size").description("페이지 크기")
+                    )
+                ))
+                ;
+    }
+
+    @Test
+    @DisplayName("시작 일시가 종료 일시보다 늦은 기간으로 조회: 400 응답")
+    public void queryOverlappingEvents_Bad_Request() throws Exception {
+        this.mockMvc.perform(get("/api/events/overlapping")
+                    .param("from", "2031-03-05T00:00:00")
+                    .param("to", "2031-03-04T00:00:00")
+                )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("등록 기간인 이벤트 조회")
+    public void queryEnrollingEvents() throws Exception {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2032, 5, 1, 10, 0);
+        IntStream.range(0, 5).forEach(index -> {
+            Event event = buildEvent(index);
+            event.setBeginEnrollmentDateTime(base.plusDays(index));
+            event.setCloseEnrollmentDateTime(base.plusDays(index + 2));
+            this.eventIntervalIndex.index(this.eventRepository.save(event));
+        });
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/enrolling")
+                    .param("at", "2032-05-03T12:00:00")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(2))
+                .andExpect(jsonPath("_embedded.eventList[*].beginEnrollmentDateTime")
+                        .value(contains("2032-05-02T10:00:00", "2032-05-03T10:00:00")))
+                .andExpect(statements(1))
+                .andExpect(entityLoads(2))
+                .andDo(document("query-events-enrolling",
+                    requestParameters(
+                        parameterWithName("at").description("기준 일시 (ISO 8601, 없으면 현재 일시)")
+                    )
+                ))
+                ;
+    }
+
+    @Test
+    @DisplayName("전체 이벤트 내보내기 (NDJSON)")
+    public void exportEvents() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+        long total = this.eventRepository.count();
+
+        // When & Then
+        String responseBody = this.mockMvc.perform(get("/api/events/export").header(HttpHeaders.AUTHORIZATION, getBearerToken()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("application/x-ndjson")))
+                .andDo(document("export-events"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = responseBody.split("\n");
+        assertThat(lines).hasSize((int) total);
+        for (String line : lines) {
+            assertThat(this.objectMapper.readTree(line).get("id").isInt()).isTrue();
+        }
+        assertThat(this.objectMapper.readTree(lines[lines.length - 1]).get("name").asText()).isEqualTo("event 29");
+    }
+
+    @Test
+    @DisplayName("전체 이벤트 내보내기 (CSV)")
+    public void exportEventsCsv() throws Exception {
+        // Given
+        Event event = buildEvent(0);
+        event.setName("=HYPERLINK(\"http://example.com\")");
+        event.setDescription("comma, \"quote\"");
+        event.setLocation("@SUM(1+1)");
+        this.eventRepository.save(event);
+
+        // When & Then
+        String responseBody = this.mockMvc.perform(get("/api/events/export").param("format", "csv")
+                                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                            )
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("text/csv")))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = responseBody.split("\r\n");
+        assertThat(lines).hasSize((int) this.eventRepository.count() + 1);
+        assertThat(lines[0]).startsWith("id,name,description,");
+        assertThat(lines[lines.length - 1])
+                .isEqualTo(event.getId() + ",\"'=HYPERLINK(\"\"http://example.com\"\")\",\"comma, \"\"quote\"\"\",2020-11-23T14:21,"
+                        + "2020-11-24T14:21,2020-11-25T14:21,2020-11-26T14:21,'@SUM(1+1),100,200,100,true,false,DRAFT,");
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 형식으로 내보내기: 400 응답")
+    public void exportEvents_Bad_Request() throws Exception {
+        this.mockMvc.perform(get("/api/events/export").param("format", "xml").header(HttpHeaders.AUTHORIZATION, getBearerToken()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("인증 없이 전체 이벤트 내보내기: 401 응답")
+    public void exportEvents_Unauthorized() throws Exception {
+        this.mockMvc.perform(get("/api/events/export"))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     @DisplayName("기존의 이벤트를 1건 조회")
     public void getEvent() throws Exception {
         //Given
         Event event = this.generateEvent(100);
+        this.cacheManager.getCache("events").evict(event.getId());     // 캐시에 없는 이벤트
 
         // When & Then
         this.mockMvc.perform(get("/api/events/{id}", event.getId())
@@ -266,9 +829,205 @@ public class EventControllerTests extends BaseTest {
                 .andExpect(jsonPath("name").exists())
                 .andExpect(jsonPath("_links.self").exists())
                 .andExpect(jsonPath("_links.profile").exists())
+                .andExpect(statements(1))
+                .andExpect(entityLoads(1))
+                .andExpect(collectionFetches(0))
                 .andDo(document("get-event"));
     }
 
+    @Test
+    @DisplayName("캐시된 이벤트 조회 및 수정 시 캐시 교체")
+    public void getEventFromCache() throws Exception {
+        // Given
+        Event event = this.generateEvent(100);
+        Cache cache = this.cacheManager.getCache("events");
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+        assertThat(cache.get(event.getId())).isNotNull();
+
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value(event.getName()));
+
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        eventDto.setName("Update Event");
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(eventDto))
+                            )
+                .andExpect(status().isOk());
+        assertThat(((Event) cache.get(event.getId()).get()).getName()).isEqualTo("Update Event");
+
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("Update Event"));
+    }
+
+    @Test
+    @DisplayName("수정 전에 읽은 조회 요청이 무효화 뒤에 캐시를 채워도 수정된 이벤트로 응답")
+    public void getEventAfterStaleCacheFill() throws Exception {
+        // Given
+        Event event = this.generateEvent(100);
+        Cache cache = this.cacheManager.getCache("events");
+        Event staleEvent = this.eventRepository.findUncachedById(event.getId()).get();   // 수정 전에 시작한 조회
+
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        eventDto.setName("Update Event");
+        String etag = this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(eventDto))
+                            )
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        cache.put(event.getId(), staleEvent);     // 수정 전에 시작한 조회가 저장 뒤에 캐시를 채움
+
+        // When & Then
+        assertThat(((Event) cache.get(event.getId()).get()).getName()).isEqualTo("Update Event");
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("Update Event"))
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(statements(0))
+                .andExpect(entityLoads(0));
+    }
+
+    @Test
+    @DisplayName("관리자가 있는 이벤트를 캐시에서 조회")
+    public void getEventWithMangerFromCache() throws Exception {
+        // Given
+        String bearerToken = getBearerToken();
+        EventDto eventDto = this.modelMapper.map(buildEvent(100), EventDto.class);
+        String location = this.mockMvc.perform(post("/api/events")
+                                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(eventDto))
+                            )
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+        // When & Then
+        for (int i = 0; i < 2; i++) {
+            this.mockMvc.perform(get(location).header(HttpHeaders.AUTHORIZATION, bearerToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("manger.id").exists())
+                    .andExpect(jsonPath("_links.update-event").exists());
+        }
+    }
+
+    @Test
+    @DisplayName("변경되지 않은 이벤트를 ETag로 조회: 304 응답")
+    public void getEvent304() throws Exception {
+        // Given
+        Event event = this.generateEvent(100);
+        String etag = this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                            .header(HttpHeaders.IF_NONE_MATCH, etag)
+                )
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("관리자와 다른 사용자에게는 다른 ETag로 응답")
+    public void getEventETagByRepresentation() throws Exception {
+        // Given
+        String bearerToken = getBearerToken();
+        EventDto eventDto = this.modelMapper.map(buildEvent(100), EventDto.class);
+        String location = this.mockMvc.perform(post("/api/events")
+                                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(eventDto))
+                            )
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        String etag = this.mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String mangerETag = etag.substring(0, etag.length() - 1) + "-m\"";
+
+        // When & Then
+        this.mockMvc.perform(get(location).header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, mangerETag));
+        this.mockMvc.perform(get(location).header(HttpHeaders.AUTHORIZATION, bearerToken)
+                            .header(HttpHeaders.IF_NONE_MATCH, etag)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_links.update-event").exists());
+        this.mockMvc.perform(get(location).header(HttpHeaders.AUTHORIZATION, bearerToken)
+                            .header(HttpHeaders.IF_NONE_MATCH, mangerETag)
+                )
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, mangerETag));
+        this.mockMvc.perform(get(location).header(HttpHeaders.IF_NONE_MATCH, mangerETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_links.update-event").doesNotExist());
+        this.mockMvc.perform(patch(location)
+                                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                                .header(HttpHeaders.IF_MATCH, mangerETag)
+                                .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                                .content("{\"name\":\"Patched\"}")
+                            )
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("변경되지 않은 이벤트 목록을 ETag로 조회: 304 응답")
+    public void queryEvents304() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+        String etag = this.mockMvc.perform(get("/api/events").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events").param("size", "10")
+                            .header(HttpHeaders.IF_NONE_MATCH, etag)
+                )
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("로그인한 사용자와 익명 사용자에게는 다른 목록 ETag로 응답")
+    public void queryEventsETagByRepresentation() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+        String bearerToken = getBearerToken();
+
+        for (String[] params : new String[][] { { "size", "10" }, { "after", "" } }) {
+            String etag = this.mockMvc.perform(get("/api/events").param(params[0], params[1]))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            String authenticatedETag = etag.substring(0, etag.length() - 1) + "-a\"";
+
+            // When & Then
+            this.mockMvc.perform(get("/api/events").param(params[0], params[1])
+                                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, authenticatedETag))
+                    .andExpect(jsonPath("_links.create-event").exists());
+            this.mockMvc.perform(get("/api/events").param(params[0], params[1])
+                                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                                .header(HttpHeaders.IF_NONE_MATCH, authenticatedETag)
+                    )
+                    .andExpect(status().isNotModified());
+        }
+    }
+
     @Test
     @DisplayName("없는 이벤트를 조회 했을 경우: 404 응답")
     public void getEvent404() throws Exception {
@@ -296,9 +1055,30 @@ public class EventControllerTests extends BaseTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("name").value(eventName))
                 .andExpect(jsonPath("_links.self").exists())
+                .andExpect(statements(2))
+                .andExpect(entityLoads(1))
                 .andDo(document("update-event"));
     }
 
+    @Test
+    @DisplayName("다른 요청이 먼저 수정한 이벤트 수정 실패: 412 응답")
+    public void updateEvent412() throws Exception {
+        // Given
+        Event event = this.generateEvent(100);
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        String staleETag = "\"" + (event.getVersion() + 1) + "\"";
+
+        // When & Then
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                                .header(HttpHeaders.IF_MATCH, staleETag)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(eventDto))
+                            )
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     @DisplayName("입력 값이 비어있는 경우에 이벤트 수정 실패")
     public void updateEvent400_Empty() throws Exception {
@@ -354,6 +1134,200 @@ public class EventControllerTests extends BaseTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("이벤트 부분 수정 (JSON Merge Patch)")
+    public void patchEvent() throws Exception {
+        // Given
+        Event event = this.generateEvent(100);
+        String patch = "{\"basePrice\":0,\"maxPrice\":0,\"location\":null}";
+
+        // When & Then
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                                .header(HttpHeaders.IF_MATCH, "\"" + event.getVersion() + "\"")
+                                .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                                .content(patch)
+                            )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (event.getVersion() + 1) + "\""))
+                .andExpect(jsonPath("name").value(event.getName()))
+                .andExpect(jsonPath("basePrice").value(0))
+                .andExpect(jsonPath("free").value(true))
+                .andExpect(jsonPath("offline").value(false))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andExpect(statements(2))
+                .andExpect(entityLoads(1))
+                .andDo(document("patch-event"));
+    }
+
+    @Test
+    @DisplayName("수정한 결과가 잘못된 경우에 이벤트 부분 수정 실패")
+    public void patchEvent400_Wrong() throws Exception {
+        // Given
+        Event event = this.generateEvent(100);
+
+        // When & Then
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                                .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                                .content("{\"maxPrice\":50}")
+                            )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].objectName").exists());
+    }
+
+    @Test
+    @DisplayName("알 수 없는 필드로 이벤트 부분 수정 실패")
+    public void patchEvent400_Unknown() throws Exception {
+        // Given
+        Event event = this.generateEvent(100);
+
+        // When & Then
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                                .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                                .content("{\"eventStatus\":\"PUBLISHED\"}")
+                            )
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("다른 요청이 먼저 수정한 이벤트 부분 수정 실패: 412 응답")
+    public void patchEvent412() throws Exception {
+        // Given
+        Event event = this.generateEvent(100);
+
+        // When & Then
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                                .header(HttpHeaders.IF_MATCH, "\"" + (event.getVersion() + 1) + "\"")
+                                .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                                .content("{\"name\":\"Patch Event\"}")
+                            )
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 이벤트 부분 수정 실패")
+    public void patchEvent404() throws Exception {
+        // When & Then
+        this.mockMvc.perform(patch("/api/events/1205")
+                                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                                .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                                .content("{\"name\":\"Patch Event\"}")
+                            )
+                .andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("이벤트 참가 신청")
+    public void enrollEvent() throws Exception {
+        // Given
+        Event event = buildEvent(200);
+        event.setEventStatus(EventStatus.BEGAN_ENROLLMEND);
+        event.setBeginEnrollmentDateTime(LocalDateTime.now().minusDays(1));
+        event.setCloseEnrollmentDateTime(LocalDateTime.now().plusDays(1));
+        event.setLimitOfEnrollment(10);
+        event = this.eventRepository.save(event);
+        String bearerToken = getBearerToken();
+
+        // When & Then
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                )
+                .andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("eventId").value(event.getId()))
+                .andExpect(jsonPath("remaining").value(9))
+                .andExpect(jsonPath("_links.event").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andExpect(statements(1))     // 신청한 계정 id 목록 (이벤트는 저장할 때 캐시된다)
+                .andExpect(entityLoads(0))
+                .andDo(document("enroll-event",
+                    links(
+                        linkWithRel("event").description("link to event"),
+                        linkWithRel("profile").description("link to profile")
+                    ),
+                    relaxedResponseFields(
+                        fieldWithPath("eventId").description("identifier of event"),
+                        fieldWithPath("accountId").description("identifier of enrolled account"),
+                        fieldWithPath("enrolledDateTime").description("date time of enrollment"),
+                        fieldWithPath("remaining").description("remaining seats of event")
+                    )
+                ));
+
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                )
+                .andExpect(status().isConflict())
+                .andExpect(header().string("Enrollment-Result", "ALREADY_ENROLLED"))
+                .andExpect(statements(0));
+    }
+
+    @Test
+    @DisplayName("등록 기간이 아닌 이벤트 참가 신청: 409 응답")
+    public void enrollEvent_Closed() throws Exception {
+        Event event = generateEvent(201);
+
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                )
+                .andExpect(status().isConflict())
+                .andExpect(header().string("Enrollment-Result", "CLOSED"));
+    }
+
+    @Test
+    @DisplayName("등록 기간을 마감으로 수정한 이벤트는 수정 전에 캐시된 내용이 아니라 수정된 기간으로 신청 판단")
+    public void enrollEvent_ClosedByUpdate() throws Exception {
+        // Given
+        Event event = buildEvent(202);
+        event.setEventStatus(EventStatus.BEGAN_ENROLLMEND);
+        event.setBeginEnrollmentDateTime(LocalDateTime.now().minusDays(2));
+        event.setCloseEnrollmentDateTime(LocalDateTime.now().plusDays(1));
+        event.setBeginEventDateTime(LocalDateTime.now().plusDays(2));
+        event.setEndEventDateTime(LocalDateTime.now().plusDays(3));
+        event = this.eventRepository.save(event);
+        Event staleEvent = this.eventRepository.findUncachedById(event.getId()).get();   // 수정 전에 시작한 조회
+        String bearerToken = getBearerToken();
+
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        eventDto.setCloseEnrollmentDateTime(LocalDateTime.now().minusDays(1));
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(eventDto))
+                            )
+                .andExpect(status().isOk());
+        this.cacheManager.getCache("events").put(event.getId(), staleEvent);
+
+        // When & Then
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                )
+                .andExpect(status().isConflict())
+                .andExpect(header().string("Enrollment-Result", "CLOSED"));
+    }
+
+    /**
+     * 다음 count개의 이벤트 id가 시퀀스 조회 없이 할당되도록 미리 이벤트를 저장한다. (생성 요청의 statements를 고정하기 위해)
+     * pooled-lo는 할당 단위(Event id의 @SequenceGenerator initialValue부터 allocationSize씩)의 첫 id를 줄 때만 시퀀스를 조회한다.
+     */
+    private void reserveIds(int count) throws Exception {
+        SequenceGenerator generator = Event.class.getDeclaredField("id").getAnnotation(SequenceGenerator.class);
+        int initialValue = generator.initialValue();
+        int allocationSize = generator.allocationSize();
+        int lastId;
+        do {
+            lastId = generateEvent(0).getId();
+        } while (Math.floorDiv(lastId - initialValue, allocationSize) != Math.floorDiv(lastId + count - initialValue, allocationSize));
+    }
+
     private Event generateEvent(int index) {
         Event event = buildEvent(index);
         return this.eventRepository.save(event);
@@ -0,0 +1,67 @@
+package me.hycho.demorestapi.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+public class EventMapperTest {
+
+    private final EventMapper eventMapper = new EventMapper();
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    public void toEvent() {
+        EventDto eventDto = buildEventDto();
+
+        Event event = eventMapper.toEvent(eventDto);
+
+        assertThat(event).usingRecursiveComparison()
+                .isEqualTo(modelMapper.map(eventDto, Event.class));
+        assertThat(event.getEventStatus()).isEqualTo(EventStatus.DRAFT);
+    }
+
+    @Test
+    public void update() {
+        EventDto eventDto = buildEventDto();
+        eventDto.setLocation(null);
+        Event event = Event.builder()
+                .id(10)
+                .name("before")
+                .location("애플스토어 가로수길점")
+                .eventStatus(EventStatus.PUBLISHED)
+                .build();
+        Event expected = Event.builder()
+                .id(10)
+                .name("before")
+                .location("애플스토어 가로수길점")
+                .eventStatus(EventStatus.PUBLISHED)
+                .build();
+
+        eventMapper.update(eventDto, event);
+        modelMapper.map(eventDto, expected);
+
+        assertThat(event).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(event.getId()).isEqualTo(10);
+        assertThat(event.getLocation()).isNull();
+    }
+
+    private EventDto buildEventDto() {
+        return EventDto.builder()
+                .name("spring")
+                .description("rest api with spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 11, 23, 14, 40))
+                .closeEnrollmentDateTime(LocalDateTime.of(2020, 11, 24, 14, 40))
+                .beginEventDateTime(LocalDateTime.of(2020, 11, 25, 14, 40))
+                .endEventDateTime(LocalDateTime.of(2020, 11, 26, 14, 40))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("애플스토어 가로수길점")
+                .build();
+    }
+
+}
@@ -0,0 +1,131 @@
+package me.hycho.demorestapi.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+public class EventSearchIndexTest {
+
+    private final EventSearchIndex searchIndex = new EventSearchIndex(null);
+
+    @Test
+    @DisplayName("검색어가 많이 나오는 이벤트부터 조회")
+    public void search() {
+        searchIndex.index(1, 0, "spring", "rest api with spring");
+        searchIndex.index(2, 0, "spring boot", "spring boot with spring data jpa");
+        searchIndex.index(3, 0, "jpa", "java persistence");
+
+        Page<Integer> result = searchIndex.search("Spring", PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).containsExactly(2, 1);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("단어 중 하나라도 포함하면 검색되고, 여러 단어를 포함할수록 점수가 높다")
+    public void searchWithMultipleTerms() {
+        searchIndex.index(1, 0, "spring", "rest api");
+        searchIndex.index(2, 0, "jpa", "hibernate");
+        searchIndex.index(3, 0, "spring jpa", "data");
+
+        Page<Integer> result = searchIndex.search("spring, jpa", PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).first().isEqualTo(3);
+        assertThat(result.getContent()).containsExactlyInAnyOrder(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("페이지 단위로 조회")
+    public void searchWithPage() {
+        for (int id = 1; id <= 25; id++) {
+            searchIndex.index(id, 0, "event " + id, "test event");
+        }
+
+        Page<Integer> result = searchIndex.search("event", PageRequest.of(2, 10));
+
+        assertThat(result.getContent()).hasSize(5);
+        assertThat(result.getTotalElements()).isEqualTo(25);
+        assertThat(searchIndex.search("event", PageRequest.of(3, 10)).getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("수정하면 이전 내용은 검색되지 않고, 이전 버전으로는 덮어쓰지 않는다")
+    public void indexUpdatedEvent() {
+        searchIndex.index(1, 0, "spring", "rest api");
+        searchIndex.index(1, 1, "webflux", "reactive");
+        searchIndex.index(1, 0, "spring", "rest api");
+
+        assertThat(searchIndex.search("spring", PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(searchIndex.search("reactive", PageRequest.of(0, 10)).getContent()).containsExactly(1);
+        assertThat(searchIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("건너뛰면서 고른 상위 k개와 검색 결과 수는 전체를 점수 순으로 정렬한 결과와 같다 (수정, 번호 재정리 후에도)")
+    public void searchTopHitsMatchFullRanking() {
+        Random random = new Random(7);
+        Map<Integer, String> descriptions = new HashMap<>();
+        for (int i = 0; i < 6000; i++) {
+            int id = i < 2000 ? i + 1 : random.nextInt(2000) + 1;
+            StringBuilder description = new StringBuilder();
+            int words = 3 + random.nextInt(10);
+            for (int j = 0; j < words; j++) {
+                description.append(" w").append((int) Math.pow(random.nextInt(50), 2) / 50);
+            }
+            descriptions.put(id, description.toString());
+            searchIndex.index(id, 0, "event", description.toString());
+        }
+
+        for (String query : new String[] { "w0", "w1", "w20", "w0 w1", "w0 w30 w48", "w2 w5 w9 w13" }) {
+            Set<String> terms = new HashSet<>(EventSearchIndex.tokenize(query));
+            long matching = descriptions.values().stream()
+                    .filter(description -> EventSearchIndex.tokenize(description).stream().anyMatch(terms::contains))
+                    .count();
+            List<Integer> ranking = searchIndex.search(query, PageRequest.of(0, 2000)).getContent();
+            assertThat(ranking).as(query).hasSize((int) matching);
+
+            Page<Integer> first = searchIndex.search(query, PageRequest.of(0, 10));
+            Page<Integer> third = searchIndex.search(query, PageRequest.of(2, 10));
+            assertThat(first.getTotalElements()).as(query).isEqualTo(matching);
+            assertThat(first.getContent()).as(query).isEqualTo(ranking.subList(0, 10));
+            assertThat(third.getContent()).as(query).isEqualTo(ranking.subList(20, 30));
+            assertThat(searchIndex.search(query, PageRequest.of(1, 2)).getContent()).as(query).isEqualTo(ranking.subList(2, 4));
+        }
+        assertThat(searchIndex.size()).isEqualTo(2000);
+    }
+
+    @Test
+    @DisplayName("점수가 같으면 색인한 순서와 상관없이 id 순으로 조회")
+    public void searchTiesById() {
+        List<Integer> ids = IntStream.rangeClosed(1, 5000).boxed().collect(Collectors.toList());
+        Collections.shuffle(ids, new Random(11));
+        ids.forEach(id -> searchIndex.index(id, 0, "event", "same words"));
+        searchIndex.index(4000, 0, "event", "same same words");
+
+        Page<Integer> result = searchIndex.search("same", PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).containsExactly(4000, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(result.getTotalElements()).isEqualTo(5000);
+    }
+
+    @Test
+    public void tokenize() {
+        assertThat(EventSearchIndex.tokenize("Spring REST-API, 애플스토어 가로수길점!"))
+                .containsExactly("spring", "rest", "api", "애플스토어", "가로수길점");
+        assertThat(EventSearchIndex.tokenize(" ,. ")).isEmpty();
+    }
+
+}
@@ -0,0 +1,140 @@
+package me.hycho.demorestapi.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import me.hycho.demorestapi.common.BaseTest;
+
+/**
+ * 스케줄러(타이밍 휠)는 테스트끼리 공유하고 시각이 뒤로 가지 않으므로 테스트마다 앞 테스트보다 늦은 일시를 사용하고 순서를 정한다.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class EventStatusSchedulerTest extends BaseTest {
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    EventStatusScheduler eventStatusScheduler;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @Order(1)
+    @DisplayName("등록/이벤트 일시가 지나면 상태를 전환하고 버전을 올린다")
+    public void transition() {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2040, 1, 1, 10, 0);
+        Event published = saveEvent(EventStatus.PUBLISHED, base);
+        Event draft = saveEvent(EventStatus.DRAFT, base);
+
+        // When & Then
+        this.eventStatusScheduler.advance(base.plusDays(1).plusSeconds(1));
+        assertStatus(published, EventStatus.BEGAN_ENROLLMEND, published.getVersion() + 1);
+
+        this.eventStatusScheduler.advance(base.plusDays(3).plusHours(1));
+        assertStatus(published, EventStatus.STARTED, published.getVersion() + 2);
+
+        this.eventStatusScheduler.advance(base.plusDays(5));
+        assertStatus(published, EventStatus.ENDED, published.getVersion() + 3);
+        assertStatus(draft, EventStatus.DRAFT, draft.getVersion());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("일시를 수정하면 새 일시에 맞춰 전환")
+    public void reschedule() {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2041, 1, 1, 10, 0);
+        Event event = saveEvent(EventStatus.PUBLISHED, base);
+        event.setBeginEnrollmentDateTime(base.plusDays(2));
+        Event updated = this.eventRepository.save(event);
+        this.eventStatusScheduler.schedule(updated);
+
+        // When & Then
+        this.eventStatusScheduler.advance(base.plusDays(1).plusHours(1));
+        assertStatus(updated, EventStatus.PUBLISHED, updated.getVersion());
+
+        this.eventStatusScheduler.advance(base.plusDays(2));
+        assertStatus(updated, EventStatus.BEGAN_ENROLLMEND, updated.getVersion() + 1);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("일시가 바뀌지 않은 수정은 타이머를 다시 걸지 않고, 변경한 행 수를 기록한다")
+    public void scheduleUnchangedDeadline() {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2042, 1, 1, 10, 0);
+        Event event = saveEvent(EventStatus.PUBLISHED, base);
+        this.eventStatusScheduler.schedule(event);
+        this.eventStatusScheduler.schedule(event);
+        this.eventStatusScheduler.advance(base.plusDays(1).minusSeconds(1));  // 앞 테스트의 이벤트 전환을 먼저 처리
+        DistributionSummary batch = this.meterRegistry.get("event.status.transition.batch").summary();
+        double total = batch.totalAmount();
+
+        // When
+        this.eventStatusScheduler.advance(base.plusDays(1).plusSeconds(1));
+
+        // Then
+        assertStatus(event, EventStatus.BEGAN_ENROLLMEND, event.getVersion() + 1);
+        assertThat(batch.totalAmount() - total).isEqualTo(1);
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("스케줄러가 모르게 일시가 바뀐 이벤트는 DB의 일시로 다시 확인해서 전환하지 않는다")
+    public void transitionWithStaleDates() {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2043, 1, 1, 10, 0);
+        Event event = saveEvent(EventStatus.PUBLISHED, base);
+        this.jdbcTemplate.update("update event set begin_enrollment_date_time = ? where id = ?", base.plusDays(2), event.getId());
+        this.eventStatusScheduler.advance(base.plusDays(1).minusSeconds(1));  // 앞 테스트의 이벤트 전환을 먼저 처리
+        DistributionSummary batch = this.meterRegistry.get("event.status.transition.batch").summary();
+        double total = batch.totalAmount();
+
+        // When
+        this.eventStatusScheduler.advance(base.plusDays(1).plusSeconds(1));
+
+        // Then
+        assertStatus(event, EventStatus.PUBLISHED, event.getVersion());
+        assertThat(batch.totalAmount() - total).isEqualTo(0);
+    }
+
+    private Event saveEvent(EventStatus status, LocalDateTime base) {
+        Event event = Event.builder()
+                .name("scheduled event")
+                .description("status transition")
+                .beginEnrollmentDateTime(base.plusDays(1))
+                .closeEnrollmentDateTime(base.plusDays(2).plusHours(12))
+                .beginEventDateTime(base.plusDays(3))
+                .endEventDateTime(base.plusDays(4))
+                .limitOfEnrollment(100)
+                .eventStatus(status)
+                .build();
+        Event saved = this.eventRepository.save(event);
+        this.eventStatusScheduler.schedule(saved);
+        return saved;
+    }
+
+    private void assertStatus(Event event, EventStatus status, int version) {
+        Event found = this.eventRepository.findUncachedById(event.getId()).get();
+        assertThat(found.getEventStatus()).isEqualTo(status);
+        assertThat(found.getVersion()).isEqualTo(version);
+    }
+
+}
@@ -0,0 +1,78 @@
+package me.hycho.demorestapi.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class IntervalTreeTest {
+
+    @Test
+    @DisplayName("경계가 닿는 구간도 겹치는 것으로 조회")
+    public void overlapping() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(10, 20, 1);
+        tree.insert(20, 30, 2);
+        tree.insert(31, 40, 3);
+        tree.insert(0, 100, 4);
+
+        assertThat(overlapping(tree, 20, 20)).containsExactly(4, 1, 2);
+        assertThat(overlapping(tree, 30, 31)).containsExactly(4, 2, 3);
+        assertThat(overlapping(tree, 101, 200)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("추가/삭제를 반복해도 전체 비교 결과와 같다")
+    public void overlappingMatchesBruteForce() {
+        IntervalTree tree = new IntervalTree();
+        Map<Integer, long[]> intervals = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int id = 0; id < 2000; id++) {
+            long start = random.nextInt(10_000);
+            long end = start + random.nextInt(500);
+            tree.insert(start, end, id);
+            intervals.put(id, new long[] { start, end });
+        }
+        for (int id = 0; id < 2000; id += 3) {
+            tree.remove(intervals.remove(id)[0], id);
+        }
+        assertThat(tree.size()).isEqualTo(intervals.size());
+
+        for (int i = 0; i < 200; i++) {
+            long from = random.nextInt(11_000);
+            long to = from + random.nextInt(300);
+            List<Integer> expected = intervals.entrySet().stream()
+                    .filter(e -> e.getValue()[0] <= to && e.getValue()[1] >= from)
+                    .sorted(Comparator.<Map.Entry<Integer, long[]>>comparingLong(e -> e.getValue()[0]).thenComparing(Map.Entry::getKey))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+
+            assertThat(overlapping(tree, from, to)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void removeMissingInterval() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(10, 20, 1);
+
+        assertThatThrownBy(() -> tree.remove(10, 2)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private List<Integer> overlapping(IntervalTree tree, long from, long to) {
+        List<Integer> ids = new ArrayList<>();
+        tree.overlapping(from, to, ids::add);
+        return ids;
+    }
+
+}
@@ -0,0 +1,75 @@
+package me.hycho.demorestapi.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TimingWheelTest {
+
+    private static final long START = 1_600_000_000L;
+
+    @Test
+    @DisplayName("타이머는 단계와 관계없이 정확히 만료 시각에 만료된다")
+    public void expireOnDeadline() {
+        TimingWheel wheel = new TimingWheel(START);
+        Random random = new Random(3);
+        long[] deadlines = new long[3000];
+        for (int id = 0; id < deadlines.length; id++) {
+            deadlines[id] = START + 1 + random.nextInt(300_000);    // 0 ~ 2단계
+            wheel.schedule(id, deadlines[id]);
+        }
+
+        List<long[]> expired = new ArrayList<>();
+        for (long now = START + 1; now <= START + 300_000; now += 1 + random.nextInt(5)) {
+            long at = now;
+            wheel.advance(now, (id, deadline) -> expired.add(new long[] { id, deadline, at }));
+        }
+        wheel.advance(START + 300_000, (id, deadline) -> expired.add(new long[] { id, deadline, START + 300_000 }));
+
+        assertThat(expired).hasSize(deadlines.length);
+        assertThat(wheel.size()).isZero();
+        for (long[] timer : expired) {
+            assertThat(timer[1]).isEqualTo(deadlines[(int) timer[0]]);
+            assertThat(timer[2]).isBetween(timer[1], timer[1] + 5);
+        }
+    }
+
+    @Test
+    @DisplayName("이미 지난 시각의 타이머는 다음 진행에서 바로 만료")
+    public void expirePastDeadline() {
+        TimingWheel wheel = new TimingWheel(START);
+        wheel.schedule(1, START - 10);
+        wheel.schedule(2, START + 10);
+
+        List<Integer> expired = new ArrayList<>();
+        wheel.advance(START, (id, deadline) -> expired.add(id));
+
+        assertThat(expired).containsExactly(1);
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("오랫동안 진행하지 않았으면 한 번에 만료시키고 나머지는 다시 배치")
+    public void advanceLongGap() {
+        TimingWheel wheel = new TimingWheel(START);
+        wheel.schedule(1, START + 100);
+        wheel.schedule(2, START + 10_000_000);
+        wheel.schedule(3, START + 2_000_000_000L);  // 최상위 단계 범위 밖
+
+        List<Integer> expired = new ArrayList<>();
+        wheel.advance(START + 5_000_000, (id, deadline) -> expired.add(id));
+        assertThat(expired).containsExactly(1);
+
+        wheel.advance(START + 10_000_000, (id, deadline) -> expired.add(id));
+        assertThat(expired).containsExactly(1, 2);
+
+        wheel.advance(START + 2_000_000_000L, (id, deadline) -> expired.add(id));
+        assertThat(expired).containsExactly(1, 2, 3);
+    }
+
+}